@@ -0,0 +1,85 @@
+/**
+ * Latency model for one memory reference, used to turn TLB and page-fault
+ * counts into an effective memory access time (EAT).
+ * <p>
+ * Every reference pays a TLB lookup and the memory access itself. A TLB miss
+ * adds a page-table walk of {@code walkAccesses} memory accesses, and a page
+ * fault adds the fault service time on top of that.
+ */
+public class AccessCost {
+
+    /** Textbook figures: 20 ns TLB, 100 ns memory, single-level table, 8 ms fault service. */
+    public static final AccessCost DEFAULT = new AccessCost(20, 100, 1, 8_000_000);
+
+    private final double tlbNanos;
+    private final double memoryNanos;
+    private final int walkAccesses;
+    private final double faultNanos;
+
+    /**
+     * Creates a latency model.
+     * 
+     * @param tlbNanos TLB lookup time
+     * @param memoryNanos Time of one memory access
+     * @param walkAccesses Memory accesses per page-table walk
+     * @param faultNanos Page fault service time
+     */
+    public AccessCost(double tlbNanos, double memoryNanos, int walkAccesses, double faultNanos) {
+        if (tlbNanos < 0 || memoryNanos < 0 || walkAccesses < 0 || faultNanos < 0) {
+            throw new IllegalArgumentException("Latencies must not be negative");
+        }
+        this.tlbNanos = tlbNanos;
+        this.memoryNanos = memoryNanos;
+        this.walkAccesses = walkAccesses;
+        this.faultNanos = faultNanos;
+    }
+
+    /**
+     * Computes the mean access time in nanoseconds.
+     * 
+     * @param tlbHits References translated by the TLB
+     * @param tlbMisses References that needed a page-table walk (including faults)
+     * @param pageFaults References that also faulted
+     * @return The effective access time, or 0 when there were no references
+     */
+    public double effectiveAccessTime(long tlbHits, long tlbMisses, long pageFaults) {
+        return effectiveAccessTime(tlbHits, tlbMisses, pageFaults, walkAccesses);
+    }
+
+    /**
+     * Computes the mean access time with a measured walk cost, such as
+     * {@link PageTable#getAverageWalkCost()}, instead of the fixed one.
+     * 
+     * @param tlbHits References translated by the TLB
+     * @param tlbMisses References that needed a page-table walk (including faults)
+     * @param pageFaults References that also faulted
+     * @param walkAccesses Mean memory accesses per page-table walk
+     * @return The effective access time, or 0 when there were no references
+     */
+    public double effectiveAccessTime(long tlbHits, long tlbMisses, long pageFaults, double walkAccesses) {
+        long references = tlbHits + tlbMisses;
+        if (references == 0) {
+            return 0;
+        }
+        double total = references * (tlbNanos + memoryNanos)
+                + tlbMisses * walkAccesses * memoryNanos
+                + pageFaults * faultNanos;
+        return total / references;
+    }
+
+    /**
+     * Computes the mean access time for a run through a TLB.
+     * 
+     * @param tlb The TLB after the run
+     * @param pageFaults Page faults during the run
+     */
+    public double effectiveAccessTime(Tlb tlb, long pageFaults) {
+        return effectiveAccessTime(tlb.getHits(), tlb.getMisses(), pageFaults);
+    }
+
+    // Getters
+    public double getTlbNanos() { return tlbNanos; }
+    public double getMemoryNanos() { return memoryNanos; }
+    public int getWalkAccesses() { return walkAccesses; }
+    public double getFaultNanos() { return faultNanos; }
+}
@@ -0,0 +1,188 @@
+/**
+ * ARC (Adaptive Replacement Cache) page replacement, after Megiddo and Modha.
+ * <p>
+ * Resident pages are split between T1 (seen once recently) and T2 (seen at
+ * least twice); B1 and B2 remember the page numbers recently evicted from each.
+ * A hit in a ghost list shifts the adaptive target {@code p} for the size of T1,
+ * so the policy balances recency against frequency and a single scan cannot
+ * flush the frequently used pages out of T2.
+ * <p>
+ * All four lists share one {@link SlotLists} over 2 x frameCount slots and one
+ * {@link PageIndex}, so every case of the algorithm is constant time.
+ */
+public class ArcPolicy implements ReplacementPolicy {
+    private static final int T1 = 0, T2 = 1, B1 = 2, B2 = 3; // list heads hold the LRU end
+
+    private final int frameCount;
+    private final int[] slotPage;
+    private final byte[] slotList;
+    private final int[] freeSlots;
+    private final PageIndex index;
+    private final SlotLists lists;
+    private int freeCount;
+    private int target; // adaptive target size p of T1
+    private int lastEvicted;
+    private boolean hasEvicted; // whether lastEvicted holds a page
+
+    /**
+     * Creates an ARC policy.
+     * 
+     * @param frameCount The number of frames available in memory
+     */
+    public ArcPolicy(int frameCount) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        this.frameCount = frameCount;
+        this.slotPage = new int[2 * frameCount];
+        this.slotList = new byte[2 * frameCount];
+        this.freeSlots = new int[2 * frameCount];
+        this.index = new PageIndex(2 * frameCount);
+        this.lists = new SlotLists(2 * frameCount, 4);
+        reset();
+    }
+
+    /**
+     * Records the adaptive target over a reference string.
+     * 
+     * @param pages The reference string
+     * @param frameCount The number of frames available in memory
+     * @param sampleEvery Record p after every this many references
+     * @return The sampled values of p, one per interval
+     */
+    public static int[] traceTarget(int[] pages, int frameCount, int sampleEvery) {
+        ArcPolicy arc = new ArcPolicy(frameCount);
+        int[] samples = new int[pages.length / sampleEvery];
+        for (int i = 0; i < pages.length; i++) {
+            arc.access(pages[i]);
+            if ((i + 1) % sampleEvery == 0) {
+                samples[i / sampleEvery] = arc.getTarget();
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public boolean access(int page) {
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        int slot = index.get(page);
+        if (slot != PageIndex.ABSENT) {
+            int list = slotList[slot];
+            if (list == T1 || list == T2) {
+                // Case I: resident hit, promote to frequent list
+                move(slot, T2);
+                return true;
+            }
+            if (list == B1) {
+                // Case II: recency was undervalued, grow T1's target
+                target = Math.min(frameCount, target + Math.max(lists.size(B2) / lists.size(B1), 1));
+                replace(false);
+            } else {
+                // Case III: frequency was undervalued, shrink T1's target
+                target = Math.max(0, target - Math.max(lists.size(B1) / lists.size(B2), 1));
+                replace(true);
+            }
+            move(slot, T2);
+            return false;
+        }
+
+        // Case IV: page not in cache or history
+        int l1 = lists.size(T1) + lists.size(B1);
+        int total = l1 + lists.size(T2) + lists.size(B2);
+        if (l1 == frameCount) {
+            if (lists.size(T1) < frameCount) {
+                discard(lists.head(B1), B1);
+                replace(false);
+            } else {
+                int victim = lists.head(T1);
+                lastEvicted = slotPage[victim];
+                hasEvicted = true;
+                discard(victim, T1);
+            }
+        } else if (total >= frameCount) {
+            if (total == 2 * frameCount) {
+                discard(lists.head(B2), B2);
+            }
+            replace(false);
+        }
+
+        slot = freeSlots[--freeCount];
+        slotPage[slot] = page;
+        slotList[slot] = T1;
+        lists.addLast(T1, slot);
+        index.put(page, slot);
+        return false;
+    }
+
+    /**
+     * Evicts the LRU page of T1 or T2 into the matching ghost list.
+     * 
+     * @param hitInB2 true when called for a B2 ghost hit
+     */
+    private void replace(boolean hitInB2) {
+        if (lists.size(T1) + lists.size(T2) < frameCount) {
+            return; // a free frame is still available
+        }
+        int t1 = lists.size(T1);
+        int victim;
+        if (t1 > 0 && (t1 > target || (hitInB2 && t1 == target))) {
+            victim = lists.head(T1);
+            move(victim, B1);
+        } else {
+            victim = lists.head(T2);
+            move(victim, B2);
+        }
+        lastEvicted = slotPage[victim];
+        hasEvicted = true;
+    }
+
+    private void move(int slot, int list) {
+        lists.remove(slotList[slot], slot);
+        slotList[slot] = (byte) list;
+        lists.addLast(list, slot);
+    }
+
+    private void discard(int slot, int list) {
+        lists.remove(list, slot);
+        index.remove(slotPage[slot]);
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Gets the current adaptive target size of T1.
+     */
+    public int getTarget() { return target; }
+
+    /**
+     * Gets the number of resident pages seen once recently (T1).
+     */
+    public int getRecentCount() { return lists.size(T1); }
+
+    /**
+     * Gets the number of resident pages seen at least twice (T2).
+     */
+    public int getFrequentCount() { return lists.size(T2); }
+
+    @Override
+    public int getLastEvicted() { return lastEvicted; }
+
+    @Override
+    public boolean hasEvicted() { return hasEvicted; }
+
+    @Override
+    public int getResidentCount() { return lists.size(T1) + lists.size(T2); }
+
+    @Override
+    public void reset() {
+        index.clear();
+        lists.clear();
+        freeCount = freeSlots.length;
+        for (int i = 0; i < freeCount; i++) {
+            freeSlots[i] = freeCount - 1 - i;
+        }
+        target = 0;
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+    }
+}
@@ -33,14 +33,17 @@ public class BarChartFrame extends JFrame {
         Graphics2D g2d = (Graphics2D) g;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        int width = 100;
         int maxHeight = 300;
-        int max = Arrays.stream(faultCounts).max().orElse(1);
+        int max = Math.max(1, Arrays.stream(faultCounts).max().orElse(1));
         int baseY = 380;
 
-        int x = 80;
+        // Spread the bars evenly along the 500px axis
+        int slot = 500 / Math.max(1, faultCounts.length);
+        int width = Math.min(100, slot * 3 / 4);
+        int x = 50 + (slot - width) / 2;
         Color[] colors = {new Color(52, 152, 219), new Color(46, 204, 113), 
-                         new Color(155, 89, 182), new Color(241, 196, 15)};
+                         new Color(155, 89, 182), new Color(241, 196, 15),
+                         new Color(230, 126, 34), new Color(26, 188, 156)};
 
         // Draw title
         g2d.setColor(Color.BLACK);
@@ -64,14 +67,17 @@ public class BarChartFrame extends JFrame {
             g2d.drawRect(x, baseY - barHeight, width, barHeight);
             
             // Draw algorithm name
-            g2d.setFont(new Font("Arial", Font.BOLD, 14));
-            g2d.drawString(algorithms[i], x + 30, baseY + 20);
+            g2d.setFont(new Font("Arial", Font.BOLD, faultCounts.length > 4 ? 10 : 14));
+            int nameWidth = g2d.getFontMetrics().stringWidth(algorithms[i]);
+            g2d.drawString(algorithms[i], x + (width - nameWidth) / 2, baseY + 20);
             
             // Draw fault count
             g2d.setFont(new Font("Arial", Font.BOLD, 16));
-            g2d.drawString(String.valueOf(faultCounts[i]), x + 35, baseY - barHeight - 10);
+            String count = String.valueOf(faultCounts[i]);
+            int countWidth = g2d.getFontMetrics().stringWidth(count);
+            g2d.drawString(count, x + (width - countWidth) / 2, baseY - barHeight - 10);
 
-            x += 130;
+            x += slot;
         }
 
         // Draw axis
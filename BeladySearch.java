@@ -0,0 +1,384 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Searches for Belady's anomaly: reference strings where a policy faults more
+ * often with k + 1 frames than with k.
+ * <p>
+ * Trials run in parallel on a ForkJoin pool. Each trial generates a random
+ * string and then hill-climbs on it with point mutations, keeping mutations
+ * that do not reduce the worst fault increase between adjacent frame counts.
+ * Every anomaly found is shrunk by deleting references and merging pages
+ * while it remains an anomaly, and the smallest one per algorithm is kept.
+ * <p>
+ * For each candidate string, one policy instance per frame count is driven
+ * through the string in a single pass. Each point of the fault curve is computed
+ * once and compared with its neighbours, and the instances are reset and reused
+ * for the next string.
+ * <p>
+ * Usage: {@code java BeladySearch [-a FIFO,CLOCK] [-n length] [-p pages] [-k maxFrames] [-t trials] [-m mutations] [-s seed]}
+ */
+public class BeladySearch {
+
+    /** Non-stack policies searched by default; LRU, MRU and OPT cannot show the anomaly. */
+    public static final String[] DEFAULT_ALGORITHMS = {"FIFO", "CLOCK", "SECOND_CHANCE", "ENHANCED_SC", "ARC", "LFU", "LIRS", "2Q"};
+
+    // Trials per ForkJoin leaf
+    private static final int LEAF_TRIALS = 16;
+
+    /**
+     * A reference string on which an algorithm faults more with more frames.
+     */
+    public static class Anomaly {
+        private final String algorithm;
+        private final int[] pages;
+        private final int frames;
+        private final int faults;
+        private final int faultsWithMoreFrames;
+
+        public Anomaly(String algorithm, int[] pages, int frames, int faults, int faultsWithMoreFrames) {
+            this.algorithm = algorithm;
+            this.pages = pages;
+            this.frames = frames;
+            this.faults = faults;
+            this.faultsWithMoreFrames = faultsWithMoreFrames;
+        }
+
+        /**
+         * Checks whether this counterexample is smaller than another: shorter
+         * first, then fewer distinct pages, then fewer frames.
+         */
+        public boolean isSmallerThan(Anomaly other) {
+            if (other == null) {
+                return true;
+            }
+            if (pages.length != other.pages.length) {
+                return pages.length < other.pages.length;
+            }
+            int distinct = distinctPages(pages);
+            int otherDistinct = distinctPages(other.pages);
+            if (distinct != otherDistinct) {
+                return distinct < otherDistinct;
+            }
+            return frames < other.frames;
+        }
+
+        // Getters
+        public String getAlgorithm() { return algorithm; }
+        public int[] getPages() { return pages.clone(); }
+        public int getFrames() { return frames; }
+        public int getFaults() { return faults; }
+        public int getFaultsWithMoreFrames() { return faultsWithMoreFrames; }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (int page : pages) {
+                sb.append(sb.length() == 0 ? "" : " ").append(page);
+            }
+            return String.format(Locale.ROOT, "%s: %d frames -> %d faults, %d frames -> %d faults on [%s] (%d refs, %d pages)",
+                    algorithm, frames, faults, frames + 1, faultsWithMoreFrames, sb,
+                    pages.length, distinctPages(pages));
+        }
+    }
+
+    /**
+     * Computes fault curves for one algorithm, reusing one policy per frame count.
+     */
+    static class Evaluator {
+        private final String algorithm;
+        private final ReplacementPolicy[] policies; // policies[k - 1], null for OPT
+        private final int[] faults;
+
+        Evaluator(String algorithm, int maxFrames) {
+            this.algorithm = algorithm;
+            this.policies = new ReplacementPolicy[maxFrames + 1];
+            this.faults = new int[maxFrames + 1];
+            if (!"OPT".equals(algorithm)) {
+                for (int k = 1; k <= maxFrames + 1; k++) {
+                    policies[k - 1] = DemandPaging.createPolicy(algorithm, k);
+                }
+            }
+        }
+
+        /**
+         * Fills the fault curve for frame counts 1 to maxFrames + 1 in one pass.
+         */
+        int[] curve(int[] pages) {
+            if (policies[0] == null) {
+                for (int k = 1; k <= faults.length; k++) {
+                    faults[k - 1] = DemandPaging.simulate(algorithm, pages, k);
+                }
+                return faults;
+            }
+            for (ReplacementPolicy policy : policies) {
+                policy.reset();
+            }
+            Arrays.fill(faults, 0);
+            for (int page : pages) {
+                for (int k = 0; k < policies.length; k++) {
+                    if (!policies[k].access(page)) {
+                        faults[k]++;
+                    }
+                }
+            }
+            return faults;
+        }
+
+        /**
+         * Gets the largest fault increase between adjacent frame counts (positive for an anomaly).
+         */
+        int score(int[] pages) {
+            int[] curve = curve(pages);
+            int worst = Integer.MIN_VALUE;
+            for (int k = 0; k + 1 < curve.length; k++) {
+                worst = Math.max(worst, curve[k + 1] - curve[k]);
+            }
+            return worst;
+        }
+
+        /**
+         * Returns the smallest-frame anomaly on a string, or null if there is none.
+         */
+        Anomaly find(int[] pages) {
+            int[] curve = curve(pages);
+            for (int k = 0; k + 1 < curve.length; k++) {
+                if (curve[k + 1] > curve[k]) {
+                    return new Anomaly(algorithm, pages.clone(), k + 1, curve[k], curve[k + 1]);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Shrinks an anomalous string until no single deletion or page merge keeps it anomalous.
+         */
+        Anomaly minimize(int[] pages) {
+            int[] current = relabel(pages);
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int i = current.length - 1; i >= 0; i--) {
+                    int[] candidate = new int[current.length - 1];
+                    System.arraycopy(current, 0, candidate, 0, i);
+                    System.arraycopy(current, i + 1, candidate, i, current.length - 1 - i);
+                    if (score(candidate) > 0) {
+                        current = candidate;
+                        changed = true;
+                    }
+                }
+                int distinct = distinctPages(current);
+                for (int from = distinct - 1; from > 0; from--) {
+                    for (int to = 0; to < from; to++) {
+                        int[] candidate = current.clone();
+                        for (int i = 0; i < candidate.length; i++) {
+                            if (candidate[i] == from) {
+                                candidate[i] = to;
+                            }
+                        }
+                        candidate = relabel(candidate);
+                        if (score(candidate) > 0) {
+                            current = candidate;
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+            return find(current);
+        }
+    }
+
+    /**
+     * Searches a range of trials and returns the smallest anomaly per algorithm.
+     */
+    private static class SearchTask extends RecursiveTask<Anomaly[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] algorithms;
+        private final int length;
+        private final int pageCount;
+        private final int maxFrames;
+        private final int mutations;
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        SearchTask(String[] algorithms, int length, int pageCount, int maxFrames, int mutations,
+                   long seed, long from, long to) {
+            this.algorithms = algorithms;
+            this.length = length;
+            this.pageCount = pageCount;
+            this.maxFrames = maxFrames;
+            this.mutations = mutations;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Anomaly[] compute() {
+            if (to - from > LEAF_TRIALS) {
+                long mid = (from + to) >>> 1;
+                SearchTask left = new SearchTask(algorithms, length, pageCount, maxFrames, mutations, seed, from, mid);
+                SearchTask right = new SearchTask(algorithms, length, pageCount, maxFrames, mutations, seed, mid, to);
+                left.fork();
+                Anomaly[] best = right.compute();
+                Anomaly[] other = left.join();
+                for (int a = 0; a < best.length; a++) {
+                    if (other[a] != null && other[a].isSmallerThan(best[a])) {
+                        best[a] = other[a];
+                    }
+                }
+                return best;
+            }
+
+            Anomaly[] best = new Anomaly[algorithms.length];
+            for (int a = 0; a < algorithms.length; a++) {
+                Evaluator evaluator = new Evaluator(algorithms[a], maxFrames);
+                for (long trial = from; trial < to; trial++) {
+                    // Each trial has its own stream, so results do not depend on the split
+                    SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + trial * 31 + a);
+                    int[] pages = new int[length];
+                    for (int i = 0; i < length; i++) {
+                        pages[i] = random.nextInt(pageCount);
+                    }
+                    int score = evaluator.score(pages);
+                    for (int m = 0; m < mutations && score <= 0; m++) {
+                        int position = random.nextInt(length);
+                        int previous = pages[position];
+                        pages[position] = random.nextInt(pageCount);
+                        int mutated = evaluator.score(pages);
+                        if (mutated >= score) {
+                            score = mutated;
+                        } else {
+                            pages[position] = previous;
+                        }
+                    }
+                    if (score > 0) {
+                        Anomaly found = evaluator.minimize(pages);
+                        if (found.isSmallerThan(best[a])) {
+                            best[a] = found;
+                        }
+                    }
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Runs a search on the common ForkJoin pool.
+     *
+     * @param algorithms Algorithms to search (any of {@link DemandPaging#ALGORITHMS})
+     * @param length Length of the generated reference strings
+     * @param pageCount Number of distinct pages to draw from
+     * @param maxFrames Largest k compared (faults(k + 1) is also computed)
+     * @param trials Number of random starting strings per algorithm
+     * @param mutations Hill-climbing steps per starting string
+     * @param seed Random seed; the result is the same for any pool size
+     * @return The smallest anomaly per algorithm, in the order given (null where none was found)
+     */
+    public static Anomaly[] search(String[] algorithms, int length, int pageCount, int maxFrames,
+                                   long trials, int mutations, long seed) {
+        if (length <= 0 || pageCount <= 0 || maxFrames <= 0 || trials <= 0 || mutations < 0) {
+            throw new IllegalArgumentException("Search parameters must be positive");
+        }
+        return ForkJoinPool.commonPool().invoke(
+                new SearchTask(algorithms.clone(), length, pageCount, maxFrames, mutations, seed, 0, trials));
+    }
+
+    /**
+     * Checks one reference string for an anomaly.
+     *
+     * @param algorithm The algorithm to check
+     * @param pages The reference string
+     * @param maxFrames Largest k compared
+     * @return The anomaly with the fewest frames, or null if faults never increase
+     */
+    public static Anomaly check(String algorithm, int[] pages, int maxFrames) {
+        return new Evaluator(algorithm, maxFrames).find(pages);
+    }
+
+    /**
+     * Renumbers pages in order of first appearance, starting at 0.
+     */
+    static int[] relabel(int[] pages) {
+        PageIndex labels = new PageIndex(16);
+        int[] result = new int[pages.length];
+        for (int i = 0; i < pages.length; i++) {
+            int label = labels.get(pages[i]);
+            if (label == PageIndex.ABSENT) {
+                label = labels.size();
+                labels.put(pages[i], label);
+            }
+            result[i] = label;
+        }
+        return result;
+    }
+
+    private static int distinctPages(int[] pages) {
+        PageIndex seen = new PageIndex(16);
+        for (int page : pages) {
+            seen.put(page, 0);
+        }
+        return seen.size();
+    }
+
+    public static void main(String[] args) {
+        String[] algorithms = DEFAULT_ALGORITHMS;
+        int length = 20;
+        int pageCount = 6;
+        int maxFrames = 5;
+        long trials = 2000;
+        int mutations = 200;
+        long seed = 1;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "-a" -> algorithms = value.toUpperCase(Locale.ROOT).split(",");
+                    case "-n" -> length = Integer.parseInt(value);
+                    case "-p" -> pageCount = Integer.parseInt(value);
+                    case "-k" -> maxFrames = Integer.parseInt(value);
+                    case "-t" -> trials = Long.parseLong(value);
+                    case "-m" -> mutations = Integer.parseInt(value);
+                    case "-s" -> seed = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            for (String algorithm : algorithms) {
+                DemandPaging.checkAlgorithm(algorithm);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: java BeladySearch [-a FIFO,CLOCK] [-n length] [-p pages] [-k maxFrames] "
+                    + "[-t trials] [-m mutations] [-s seed]");
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        Anomaly[] results = search(algorithms, length, pageCount, maxFrames, trials, mutations, seed);
+        List<String> clean = new ArrayList<>();
+        for (int a = 0; a < algorithms.length; a++) {
+            if (results[a] != null) {
+                System.out.println(results[a]);
+            } else {
+                clean.add(algorithms[a]);
+            }
+        }
+        if (!clean.isEmpty()) {
+            System.out.println("No anomaly found for " + String.join(", ", clean));
+        }
+        System.out.printf(Locale.ROOT, "%d trials x %d algorithms in %.2f s%n",
+                trials, algorithms.length, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.Arrays;
+
+/**
+ * CLOCK and second-chance page replacement.
+ * <p>
+ * Frames form a fixed ring swept by a hand; one reference bit per frame is
+ * packed into a {@code long[]} bitset. On a fault the hand clears set bits and
+ * stops at the first frame whose bit is clear. Runs of referenced frames are
+ * skipped a whole 64-bit word at a time.
+ * <p>
+ * CLOCK counts the load itself as a reference and sets the bit of a newly
+ * loaded page. Second chance loads pages with the bit clear, so only pages
+ * referenced again after loading are spared.
+ */
+public class ClockPolicy implements ReplacementPolicy {
+    private final int frameCount;
+    private final boolean referenceOnLoad;
+    private final int[] slotPage;
+    private final long[] referenced;
+    private final long lastWordMask; // valid slots in the last bitset word
+    private final PageIndex index;
+    private int used;
+    private int hand;
+    private int lastEvicted;
+    private boolean hasEvicted; // whether lastEvicted holds a page
+
+    /**
+     * Creates a clock-based policy.
+     * 
+     * @param frameCount The number of frames available in memory
+     * @param referenceOnLoad true for CLOCK, false for second chance
+     */
+    public ClockPolicy(int frameCount, boolean referenceOnLoad) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        this.frameCount = frameCount;
+        this.referenceOnLoad = referenceOnLoad;
+        this.slotPage = new int[frameCount];
+        this.referenced = new long[(frameCount + 63) >>> 6];
+        int tailBits = ((frameCount - 1) & 63) + 1;
+        this.lastWordMask = -1L >>> (64 - tailBits);
+        this.index = new PageIndex(frameCount);
+        this.lastEvicted = NO_PAGE;
+    }
+
+    @Override
+    public boolean access(int page) {
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        int slot = index.get(page);
+        if (slot != PageIndex.ABSENT) {
+            referenced[slot >>> 6] |= 1L << slot;
+            return true;
+        }
+
+        if (used < frameCount) {
+            slot = used++;
+        } else {
+            slot = advanceHand();
+            lastEvicted = slotPage[slot];
+            hasEvicted = true;
+            index.remove(lastEvicted);
+        }
+        slotPage[slot] = page;
+        index.put(page, slot);
+        if (referenceOnLoad) {
+            referenced[slot >>> 6] |= 1L << slot;
+        } else {
+            referenced[slot >>> 6] &= ~(1L << slot);
+        }
+        return false;
+    }
+
+    /**
+     * Sweeps the hand to the first unreferenced frame, clearing the bits it passes.
+     * 
+     * @return The victim slot; the hand is left just past it
+     */
+    private int advanceHand() {
+        int lastWord = referenced.length - 1;
+        while (true) {
+            int w = hand >>> 6;
+            long fromHand = (-1L << hand) & (w == lastWord ? lastWordMask : -1L);
+            long word = referenced[w];
+            long clear = ~word & fromHand;
+            if (clear != 0) {
+                int bit = Long.numberOfTrailingZeros(clear);
+                // Frames between the hand and the victim get their second chance
+                referenced[w] = word & ~(fromHand & ((1L << bit) - 1));
+                int slot = (w << 6) + bit;
+                hand = slot + 1 == frameCount ? 0 : slot + 1;
+                return slot;
+            }
+            referenced[w] = word & ~fromHand;
+            hand = w == lastWord ? 0 : (w + 1) << 6;
+        }
+    }
+
+    @Override
+    public int getLastEvicted() { return lastEvicted; }
+
+    @Override
+    public boolean hasEvicted() { return hasEvicted; }
+
+    @Override
+    public int getResidentCount() { return used; }
+
+    @Override
+    public void reset() {
+        index.clear();
+        Arrays.fill(referenced, 0L);
+        used = 0;
+        hand = 0;
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+    }
+}
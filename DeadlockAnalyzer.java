@@ -0,0 +1,289 @@
+import java.util.*;
+
+/**
+ * Finds every deadlocked group of threads in a resource allocation graph with
+ * multi-unit resources.
+ * <p>
+ * The graph has a node per thread and per lock. A blocked thread has a request
+ * edge to the lock it waits for, and a lock has an allocation edge to each thread
+ * holding one of its units. A thread can eventually run if it is not blocked or
+ * if the lock it waits for can eventually grant it a unit; a lock can grant one
+ * if it has a free unit or if any of its holders can eventually run and release.
+ * Tarjan's algorithm completes the strongly connected components sinks first, so
+ * this is settled for each component as soon as it is found, in one pass that is
+ * linear in the number of threads, locks and edges. A component that can never
+ * progress and contains a cycle is a deadlocked group. A thread outside every
+ * cycle that can still never progress waits, directly or through other such
+ * threads, on a deadlocked group; it is reported with the first group its wait
+ * leads to.
+ * <p>
+ * With mutexes every cycle is a deadlock. With a semaphore, a cycle through one
+ * holder is not a deadlock while another holder can still release a unit.
+ */
+public class DeadlockAnalyzer {
+
+    /**
+     * One set of threads waiting on each other forever, with the locks involved
+     * and the threads outside the cycle stuck behind it.
+     */
+    public static class DeadlockedGroup {
+        public final List<ProcessThread> threads;
+        public final List<LockResource> locks;
+        public final List<ProcessThread> blocked;
+
+        public DeadlockedGroup(List<ProcessThread> threads, List<LockResource> locks, List<ProcessThread> blocked) {
+            this.threads = threads;
+            this.locks = locks;
+            this.blocked = blocked;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (ProcessThread thread : threads) {
+                sb.append(sb.length() == 0 ? "" : ", ").append(thread.getThreadName());
+            }
+            sb.append(" on ");
+            for (int i = 0; i < locks.size(); i++) {
+                sb.append(i == 0 ? "" : ", ").append(locks.get(i).getLockName());
+            }
+            for (int i = 0; i < blocked.size(); i++) {
+                sb.append(i == 0 ? " (blocked behind it: " : ", ").append(blocked.get(i).getThreadName());
+            }
+            return sb.toString() + (blocked.isEmpty() ? "" : ")");
+        }
+    }
+
+    // Nodes: exactly one of the two entries at a node index is non-null
+    private final List<ProcessThread> threadNodes = new ArrayList<>();
+    private final List<LockResource> lockNodes = new ArrayList<>();
+    private final Map<ProcessThread, Integer> threadIndex = new HashMap<>();
+    private final Map<LockResource, Integer> lockIndex = new HashMap<>();
+    private final BitSet runnable = new BitSet(); // threads not blocked, locks with a free unit
+    private final BitSet allocated = new BitSet(); // locks with at least one holder
+
+    // Edges, in insertion order
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private int edgeCount;
+
+    /**
+     * Analyzes the current state of the given threads and locks.
+     * Held and awaited locks are matched to the list by name.
+     *
+     * @param threads Threads to analyze
+     * @param locks Locks they hold and wait for
+     * @return Every deadlocked group, empty if there is no deadlock
+     */
+    public static List<DeadlockedGroup> analyze(List<ProcessThread> threads, List<LockResource> locks) {
+        DeadlockAnalyzer graph = new DeadlockAnalyzer();
+        Map<String, LockResource> lockByName = new HashMap<>();
+        for (LockResource lock : locks) {
+            lockByName.put(lock.getLockName(), lock);
+            graph.addLock(lock, lock.getAvailablePermits() > 0);
+        }
+        for (ProcessThread thread : threads) {
+            LockResource waitingFor = null;
+            if (thread.getState() == ProcessThread.State.BLOCKED && thread.getWaitingForLock() != null) {
+                waitingFor = lockByName.get(thread.getWaitingForLock());
+            }
+            graph.addThread(thread, waitingFor == null);
+            if (waitingFor != null) {
+                graph.addRequest(thread, waitingFor);
+            }
+            for (String lockName : thread.getHeldLocks()) {
+                LockResource lock = lockByName.get(lockName);
+                if (lock != null) {
+                    graph.addAllocation(lock, thread);
+                }
+            }
+        }
+        return graph.findDeadlocks();
+    }
+
+    /**
+     * Adds a thread node; adding the same thread again has no effect.
+     *
+     * @param thread Thread to add
+     * @param canRun Whether the thread is not blocked
+     */
+    public void addThread(ProcessThread thread, boolean canRun) {
+        if (!threadIndex.containsKey(thread)) {
+            int node = addNode(thread, null);
+            threadIndex.put(thread, node);
+            runnable.set(node, canRun);
+        }
+    }
+
+    /**
+     * Adds a lock node; adding the same lock again has no effect.
+     *
+     * @param lock Lock to add
+     * @param hasFreeUnit Whether a unit can be granted right away
+     */
+    public void addLock(LockResource lock, boolean hasFreeUnit) {
+        if (!lockIndex.containsKey(lock)) {
+            int node = addNode(null, lock);
+            lockIndex.put(lock, node);
+            runnable.set(node, hasFreeUnit);
+        }
+    }
+
+    /**
+     * Adds a request edge: the thread is blocked on the lock. Both must have been added.
+     */
+    public void addRequest(ProcessThread thread, LockResource lock) {
+        addEdge(threadIndex.get(thread), lockIndex.get(lock));
+    }
+
+    /**
+     * Adds an allocation edge: the thread holds a unit of the lock. Both must have been added.
+     */
+    public void addAllocation(LockResource lock, ProcessThread thread) {
+        int node = lockIndex.get(lock);
+        allocated.set(node);
+        addEdge(node, threadIndex.get(thread));
+    }
+
+    private int addNode(ProcessThread thread, LockResource lock) {
+        threadNodes.add(thread);
+        lockNodes.add(lock);
+        return threadNodes.size() - 1;
+    }
+
+    private void addEdge(int from, int to) {
+        if (edgeCount == edgeFrom.length) {
+            edgeFrom = Arrays.copyOf(edgeFrom, edgeCount * 2);
+            edgeTo = Arrays.copyOf(edgeTo, edgeCount * 2);
+        }
+        edgeFrom[edgeCount] = from;
+        edgeTo[edgeCount] = to;
+        edgeCount++;
+    }
+
+    /**
+     * Finds all deadlocked groups with an iterative Tarjan SCC pass.
+     *
+     * @return Groups in the order their components complete (those waited on come first)
+     */
+    public List<DeadlockedGroup> findDeadlocks() {
+        int n = threadNodes.size();
+
+        // Adjacency in compressed rows: edges of node v are targets[start[v]..start[v + 1])
+        int[] start = new int[n + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            start[edgeFrom[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] targets = new int[edgeCount];
+        int[] fill = Arrays.copyOf(start, n);
+        for (int e = 0; e < edgeCount; e++) {
+            targets[fill[edgeFrom[e]]++] = edgeTo[e];
+        }
+
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] cursor = new int[n];      // next edge to follow from each node
+        int[] component = new int[n];
+        boolean[] live = new boolean[n]; // per component: can eventually progress
+        int[] owner = new int[n];        // per dead component: the group it waits on, or -1
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];       // nodes of unfinished components
+        int[] calls = new int[n];       // DFS path
+        Arrays.fill(index, -1);
+        int nextIndex = 0;
+        int stackSize = 0;
+        int componentCount = 0;
+        List<DeadlockedGroup> groups = new ArrayList<>();
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            calls[depth++] = root;
+            index[root] = low[root] = nextIndex++;
+            cursor[root] = start[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int v = calls[depth - 1];
+                if (cursor[v] < start[v + 1]) {
+                    int w = targets[cursor[v]++];
+                    if (index[w] == -1) {
+                        index[w] = low[w] = nextIndex++;
+                        cursor[w] = start[w];
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        calls[depth++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = calls[depth - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+                if (low[v] != index[v]) {
+                    continue;
+                }
+
+                // v roots a component: its members sit on the stack above it
+                int c = componentCount++;
+                int first = stackSize;
+                do {
+                    int w = stack[--first];
+                    onStack[w] = false;
+                    component[w] = c;
+                } while (stack[first] != v);
+                boolean canProgress = false;
+                for (int i = first; i < stackSize && !canProgress; i++) {
+                    int w = stack[i];
+                    // A lock nobody is known to hold may still be released, so it counts as live
+                    canProgress = runnable.get(w) || (lockNodes.get(w) != null && !allocated.get(w));
+                    for (int e = start[w]; e < start[w + 1] && !canProgress; e++) {
+                        int target = component[targets[e]];
+                        canProgress = target != c && live[target]; // other components are complete
+                    }
+                }
+                live[c] = canProgress;
+                owner[c] = -1;
+                if (!canProgress && stackSize - first > 1) {
+                    owner[c] = groups.size();
+                    groups.add(group(stack, first, stackSize));
+                } else if (!canProgress) {
+                    // A single node outside any cycle, stuck behind the components it points to
+                    int w = stack[first];
+                    if (start[w] < start[w + 1]) {
+                        owner[c] = owner[component[targets[start[w]]]];
+                    }
+                    if (owner[c] >= 0 && threadNodes.get(w) != null) {
+                        groups.get(owner[c]).blocked.add(threadNodes.get(w));
+                    }
+                }
+                stackSize = first;
+            }
+        }
+        return groups;
+    }
+
+    private DeadlockedGroup group(int[] stack, int from, int to) {
+        int[] members = Arrays.copyOfRange(stack, from, to);
+        Arrays.sort(members); // order of insertion into the graph
+        List<ProcessThread> threads = new ArrayList<>();
+        List<LockResource> locks = new ArrayList<>();
+        for (int node : members) {
+            if (threadNodes.get(node) != null) {
+                threads.add(threadNodes.get(node));
+            } else {
+                locks.add(lockNodes.get(node));
+            }
+        }
+        return new DeadlockedGroup(threads, locks, new ArrayList<>());
+    }
+}
@@ -2,88 +2,203 @@ import java.util.*;
 
 /**
  * Detects deadlocks using resource allocation graph cycle detection.
+ * <p>
+ * An instance keeps the wait-for graph of a running simulation up to date.
+ * Each {@link LockResource} it is attached to reports acquisitions, releases
+ * and new waits as they happen, so the graph is never rebuilt. Only a thread
+ * starting to wait can turn a live state into a deadlock, so the check runs
+ * only then and only over the threads reachable from the new waiter: if none
+ * of them can run, that part of the graph is handed to {@link DeadlockAnalyzer}
+ * to split it into deadlocked groups. A deadlock also stalls the cycles and
+ * threads waiting on it, so once one is found every waiter is analyzed, and
+ * again on every later wait, release, cancelled wait or forced release: the
+ * groups and the threads blocked behind them stay current, and a deadlock that
+ * recovery has broken is dropped.
  */
 public class DeadlockDetector {
     
+    private final Map<LockResource, Set<ProcessThread>> holders = new HashMap<>();
+    private final Map<ProcessThread, LockResource> waitsFor = new LinkedHashMap<>();
+    private List<DeadlockAnalyzer.DeadlockedGroup> deadlock = new ArrayList<>();
+    
+    /**
+     * Forgets all edges and any detected deadlock.
+     */
+    public synchronized void reset() {
+        holders.clear();
+        waitsFor.clear();
+        deadlock = new ArrayList<>();
+    }
+    
+    /**
+     * Records that a thread now holds a lock (and no longer waits for it).
+     */
+    public synchronized void lockAcquired(LockResource lock, ProcessThread thread) {
+        waitsFor.remove(thread);
+        holders.computeIfAbsent(lock, key -> new LinkedHashSet<>()).add(thread);
+    }
+    
+    /**
+     * Records that a thread released a lock.
+     */
+    public synchronized void lockReleased(LockResource lock, ProcessThread thread) {
+        Set<ProcessThread> held = holders.get(lock);
+        if (held != null) {
+            held.remove(thread);
+        }
+        recheck();
+    }
+    
+    /**
+     * Records a new wait edge and checks the threads it can reach for a deadlock.
+     * 
+     * @param lock Lock the thread is blocked on
+     * @param thread Thread that started waiting
+     */
+    public synchronized void threadWaiting(LockResource lock, ProcessThread thread) {
+        waitsFor.put(thread, lock);
+        if (!deadlock.isEmpty() || !findDeadlock(thread).isEmpty()) {
+            // A group also stalls the cycles and threads waiting on it, so look at every waiter
+            deadlock = findAllDeadlocks();
+        }
+    }
+    
+    /**
+     * Records that a thread stopped waiting without getting the lock.
+     */
+    public synchronized void waitCancelled(ProcessThread thread) {
+        waitsFor.remove(thread);
+        recheck();
+    }
+    
+    /**
+     * Records that a lock was forcibly freed: it has no holders and no waiters.
+     */
+    public synchronized void lockCleared(LockResource lock) {
+        holders.remove(lock);
+        waitsFor.values().removeIf(waited -> waited == lock);
+        recheck();
+    }
+    
+    /**
+     * Checks whether the detected deadlock still holds after a lock event that
+     * may have broken it.
+     */
+    private void recheck() {
+        if (!deadlock.isEmpty()) {
+            deadlock = findAllDeadlocks();
+        }
+    }
+    
+    /**
+     * Checks whether a deadlock is currently detected.
+     */
+    public synchronized boolean isDeadlocked() {
+        return !deadlock.isEmpty();
+    }
+    
+    /**
+     * Gets the threads of all detected deadlocked groups, or an empty list.
+     */
+    public synchronized List<ProcessThread> getDeadlock() {
+        return threadsOf(deadlock);
+    }
+    
+    /**
+     * Gets the detected deadlocked groups with their locks, or an empty list.
+     */
+    public synchronized List<DeadlockAnalyzer.DeadlockedGroup> getDeadlockedGroups() {
+        return new ArrayList<>(deadlock);
+    }
+    
     /**
      * Detects if there is a deadlock among the given threads and locks.
+     * The graph is rebuilt from the threads' current state; a running
+     * simulation attaches a detector instance to its locks instead.
      * 
      * @param threads List of threads
      * @param locks List of lock resources
-     * @return List of threads involved in deadlock, empty if no deadlock
+     * @return Threads of every deadlocked group, empty if no deadlock
      */
     public static List<ProcessThread> detectDeadlock(List<ProcessThread> threads, List<LockResource> locks) {
-        // Build resource allocation graph
-        Map<ProcessThread, Set<String>> threadToLocks = new HashMap<>();
-        Map<String, ProcessThread> lockToThread = new HashMap<>();
-        
-        // Build the graph
-        for (ProcessThread thread : threads) {
-            if (thread.getState() == ProcessThread.State.BLOCKED) {
-                threadToLocks.put(thread, thread.getHeldLocks());
-                
-                String waitingFor = thread.getWaitingForLock();
-                if (waitingFor != null) {
-                    // Find who holds this lock
-                    for (ProcessThread t : threads) {
-                        if (t.getHeldLocks().contains(waitingFor)) {
-                            lockToThread.put(waitingFor, t);
-                            break;
-                        }
-                    }
+        return threadsOf(DeadlockAnalyzer.analyze(threads, locks));
+    }
+    
+    private static List<ProcessThread> threadsOf(List<DeadlockAnalyzer.DeadlockedGroup> groups) {
+        List<ProcessThread> threads = new ArrayList<>();
+        for (DeadlockAnalyzer.DeadlockedGroup group : groups) {
+            threads.addAll(group.threads);
+        }
+        return threads;
+    }
+    
+    /**
+     * Walks wait-for edges (waiter to holders of the awaited lock) from a new
+     * waiter. Reaching a thread that can run, or a lock with a free unit or no
+     * known holder, means everything on the way can still progress.
+     * 
+     * @param start Thread that just started waiting
+     * @return Deadlocked groups among the reachable threads, or an empty list
+     */
+    private List<DeadlockAnalyzer.DeadlockedGroup> findDeadlock(ProcessThread start) {
+        Set<ProcessThread> reached = new LinkedHashSet<>();
+        ArrayDeque<ProcessThread> queue = new ArrayDeque<>();
+        reached.add(start);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            LockResource lock = waitsFor.get(queue.poll());
+            Set<ProcessThread> held = lock == null ? null : holders.get(lock);
+            if (held == null || held.isEmpty() || lock.getAvailablePermits() > 0) {
+                return new ArrayList<>();
+            }
+            for (ProcessThread holder : held) {
+                if (reached.add(holder)) {
+                    queue.add(holder);
                 }
             }
         }
         
-        // Detect cycle using DFS
-        Set<ProcessThread> visited = new HashSet<>();
-        Set<ProcessThread> recStack = new HashSet<>();
-        List<ProcessThread> deadlockedThreads = new ArrayList<>();
-        
-        for (ProcessThread thread : threads) {
-            if (thread.getState() == ProcessThread.State.BLOCKED) {
-                if (hasCycle(thread, threadToLocks, lockToThread, visited, recStack, deadlockedThreads)) {
-                    return deadlockedThreads;
-                }
+        // Nothing reachable can run: build the reached part of the allocation graph
+        DeadlockAnalyzer graph = new DeadlockAnalyzer();
+        for (ProcessThread thread : reached) {
+            graph.addThread(thread, false);
+        }
+        Set<LockResource> awaited = new LinkedHashSet<>();
+        for (ProcessThread thread : reached) {
+            LockResource lock = waitsFor.get(thread);
+            graph.addLock(lock, lock.getAvailablePermits() > 0);
+            graph.addRequest(thread, lock);
+            awaited.add(lock);
+        }
+        for (LockResource lock : awaited) {
+            for (ProcessThread holder : holders.get(lock)) {
+                graph.addAllocation(lock, holder);
             }
         }
-        
-        return new ArrayList<>(); // No deadlock
+        return graph.findDeadlocks();
     }
     
     /**
-     * DFS-based cycle detection.
+     * Analyzes every waiter together with the holders of the locks they wait for.
+     * 
+     * @return Every deadlocked group, with the waiters stuck behind it
      */
-    private static boolean hasCycle(ProcessThread thread,
-                                    Map<ProcessThread, Set<String>> threadToLocks,
-                                    Map<String, ProcessThread> lockToThread,
-                                    Set<ProcessThread> visited,
-                                    Set<ProcessThread> recStack,
-                                    List<ProcessThread> cycle) {
-        if (recStack.contains(thread)) {
-            cycle.add(thread);
-            return true; // Cycle found
-        }
-        
-        if (visited.contains(thread)) {
-            return false;
+    private List<DeadlockAnalyzer.DeadlockedGroup> findAllDeadlocks() {
+        DeadlockAnalyzer graph = new DeadlockAnalyzer();
+        for (ProcessThread waiter : waitsFor.keySet()) {
+            graph.addThread(waiter, false);
         }
-        
-        visited.add(thread);
-        recStack.add(thread);
-        
-        // Check what lock this thread is waiting for
-        String waitingFor = thread.getWaitingForLock();
-        if (waitingFor != null && lockToThread.containsKey(waitingFor)) {
-            ProcessThread holder = lockToThread.get(waitingFor);
-            if (hasCycle(holder, threadToLocks, lockToThread, visited, recStack, cycle)) {
-                cycle.add(thread);
-                return true;
+        for (LockResource lock : new LinkedHashSet<>(waitsFor.values())) {
+            graph.addLock(lock, lock.getAvailablePermits() > 0);
+            for (ProcessThread holder : holders.getOrDefault(lock, Collections.emptySet())) {
+                graph.addThread(holder, true); // no effect if the holder waits too
+                graph.addAllocation(lock, holder);
             }
         }
-        
-        recStack.remove(thread);
-        return false;
+        for (Map.Entry<ProcessThread, LockResource> wait : waitsFor.entrySet()) {
+            graph.addRequest(wait.getKey(), wait.getValue());
+        }
+        return graph.findDeadlocks();
     }
     
     /**
@@ -113,4 +228,4 @@ public class DeadlockDetector {
         
         return sb.toString();
     }
-}
\ No newline at end of file
+}
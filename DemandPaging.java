@@ -1,90 +1,446 @@
-import java.util.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
 
 
 public class DemandPaging {
 
+    /** Algorithm names accepted by {@link #simulate(String, int[], int)}. */
+    public static final String[] ALGORITHMS = {"FIFO", "LRU", "MRU", "OPT", "CLOCK", "SECOND_CHANCE", "ARC", "LFU", "LIRS", "2Q", "WS", "PFF", "ENHANCED_SC"};
+
     /**
      * Simulates a page replacement algorithm and returns the number of page faults.
      * 
-     * @param algorithm The algorithm to use (FIFO, LRU, MRU, OPT)
+     * @param algorithm The algorithm to use (see {@link #ALGORITHMS})
      * @param pages The reference string (sequence of page accesses)
      * @param frameCount The number of frames available in memory
      * @return The total number of page faults
      */
     public static int simulate(String algorithm, int[] pages, int frameCount) {
+        if ("OPT".equals(algorithm)) {
+            return simulate(new OptimalPolicy(frameCount, OptimalPolicy.computeNextUse(pages)), pages);
+        }
+        return simulate(createPolicy(algorithm, frameCount), pages);
+    }
+
+    /**
+     * Checks an algorithm name. WS and PFF may carry a parameter after a colon:
+     * the working-set window Δ ("WS:500") or PFF's critical fault interval
+     * ("PFF:200"), both in references.
+     * 
+     * @param algorithm The algorithm, any of {@link #ALGORITHMS} with an optional parameter
+     * @throws IllegalArgumentException if the name or the parameter is invalid
+     */
+    public static void checkAlgorithm(String algorithm) {
+        String name = baseName(algorithm);
+        if (!Arrays.asList(ALGORITHMS).contains(name)) {
+            throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+        if (!name.equals(algorithm)) {
+            if (!"WS".equals(name) && !"PFF".equals(name)) {
+                throw new IllegalArgumentException(name + " takes no parameter: " + algorithm);
+            }
+            parameter(algorithm, 0);
+        }
+    }
+
+    /**
+     * Creates a policy that decides evictions from past references only.
+     * Unknown names fall back to FIFO. OPT needs the whole reference string and
+     * is created through {@link OptimalPolicy} instead.
+     * <p>
+     * WS and PFF allocate frames variably; for them the frame count is only the
+     * largest resident set allowed. Their window and critical interval are given
+     * separately (see {@link #checkAlgorithm}) and otherwise default to
+     * {@link WorkingSetPolicy#DEFAULT_WINDOW} and {@link PffPolicy#DEFAULT_CRITICAL_INTERVAL}.
+     * 
+     * @param algorithm The algorithm name (any of {@link #ALGORITHMS} except OPT)
+     * @param frameCount The number of frames available in memory
+     * @return A fresh policy instance
+     */
+    public static ReplacementPolicy createPolicy(String algorithm, int frameCount) {
+        return switch (baseName(algorithm)) {
+            case "LRU" -> new RecencyPolicy(frameCount, false);
+            case "MRU" -> new RecencyPolicy(frameCount, true);
+            case "CLOCK" -> new ClockPolicy(frameCount, true);
+            case "SECOND_CHANCE" -> new ClockPolicy(frameCount, false);
+            case "ARC" -> new ArcPolicy(frameCount);
+            case "LFU" -> new LfuPolicy(frameCount);
+            case "LIRS" -> new LirsPolicy(frameCount);
+            case "2Q" -> new TwoQueuePolicy(frameCount);
+            case "WS" -> new WorkingSetPolicy(frameCount, parameter(algorithm, WorkingSetPolicy.DEFAULT_WINDOW));
+            case "PFF" -> new PffPolicy(frameCount, parameter(algorithm, PffPolicy.DEFAULT_CRITICAL_INTERVAL));
+            case "ENHANCED_SC" -> new EnhancedSecondChancePolicy(frameCount);
+            case "OPT" -> throw new IllegalArgumentException("OPT requires the full reference string");
+            default -> new FifoPolicy(frameCount);
+        };
+    }
+
+    private static String baseName(String algorithm) {
+        int colon = algorithm.indexOf(':');
+        return colon < 0 ? algorithm : algorithm.substring(0, colon);
+    }
+
+    private static long parameter(String algorithm, long defaultValue) {
+        int colon = algorithm.indexOf(':');
+        if (colon < 0) {
+            return defaultValue;
+        }
+        long value;
+        try {
+            value = Long.parseLong(algorithm.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid parameter: " + algorithm);
+        }
+        if (value <= 0) {
+            throw new IllegalArgumentException("Parameter must be positive: " + algorithm);
+        }
+        return value;
+    }
+
+    /**
+     * Runs a reference string through a replacement policy and returns the number of page faults.
+     * 
+     * @param policy The policy to drive (reset before the run)
+     * @param pages The reference string (sequence of page accesses)
+     * @return The total number of page faults
+     */
+    public static int simulate(ReplacementPolicy policy, int[] pages) {
+        policy.reset();
         int faults = 0;
-        List<Integer> frames = new ArrayList<>();
-        Queue<Integer> fifoQueue = new LinkedList<>();
+        for (int page : pages) {
+            if (!policy.access(page)) {
+                faults++;
+            }
+        }
+        return faults;
+    }
+
+    /**
+     * Simulates a page replacement algorithm over read and write references,
+     * counting the write-backs of dirty pages on eviction.
+     * 
+     * @param algorithm The algorithm to use (see {@link #ALGORITHMS})
+     * @param references Pages tagged as reads or writes
+     * @param frameCount The number of frames available in memory
+     * @param tracker Receives the dirty-page accounting (reset before the run)
+     * @return The total number of page faults
+     */
+    public static int simulate(String algorithm, ReferenceString references, int frameCount, WriteBackTracker tracker) {
+        int[] pages = references.getPages();
+        ReplacementPolicy policy = "OPT".equals(algorithm)
+                ? new OptimalPolicy(frameCount, OptimalPolicy.computeNextUse(pages))
+                : createPolicy(algorithm, frameCount);
+        return simulate(policy, references, tracker);
+    }
 
+    /**
+     * Runs read and write references through a replacement policy.
+     * 
+     * @param policy The policy to drive (reset before the run)
+     * @param references Pages tagged as reads or writes
+     * @param tracker Receives the dirty-page accounting (reset before the run)
+     * @return The total number of page faults
+     */
+    public static int simulate(ReplacementPolicy policy, ReferenceString references, WriteBackTracker tracker) {
+        policy.reset();
+        tracker.reset();
+        int[] pages = references.getPages();
+        boolean[] writes = references.getWrites();
+        int faults = 0;
         for (int i = 0; i < pages.length; i++) {
-            int page = pages[i];
-            boolean hit = frames.contains(page);
-
-            if (hit) {
-                // Page hit - update for LRU/MRU if needed
-                if ("LRU".equals(algorithm) || "MRU".equals(algorithm)) {
-                    frames.remove(Integer.valueOf(page));
-                    frames.add(page);
-                }
-            } else {
-                // Page fault
+            if (!policy.access(pages[i], writes[i])) {
                 faults++;
-                if (frames.size() < frameCount) {
-                    // Still have empty frames
-                    frames.add(page);
-                } else {
-                    // Need to evict a page
-                    int removeIndex = switch (algorithm) {
-                        case "FIFO" -> frames.indexOf(fifoQueue.poll());
-                        case "OPT" -> findOptEviction(frames, pages, i);
-                        case "MRU" -> frames.size() - 1;
-                        case "LRU" -> 0;
-                        default -> 0;
-                    };
-                    if (!algorithm.equals("FIFO")) {
-                        fifoQueue.remove(frames.get(removeIndex));
-                    }
-                    frames.remove(removeIndex);
-                    frames.add(page);
-                }
-                fifoQueue.add(page);
+            }
+            tracker.record(policy, pages[i], writes[i]);
+        }
+        return faults;
+    }
+
+    /**
+     * Runs a stream of references through a replacement policy and returns the number of page faults.
+     * 
+     * @param policy The policy to drive (reset before the run)
+     * @param references The page references, consumed until exhausted
+     * @return The total number of page faults
+     */
+    public static long simulate(ReplacementPolicy policy, PrimitiveIterator.OfInt references) {
+        policy.reset();
+        long faults = 0;
+        while (references.hasNext()) {
+            if (!policy.access(references.nextInt())) {
+                faults++;
+            }
+        }
+        return faults;
+    }
+
+    /**
+     * Simulates a page replacement algorithm over a memory-mapped trace.
+     * References are read from the mapping as they are consumed, so the heap
+     * holds only the frame table regardless of trace size.
+     * 
+     * @param algorithm The algorithm to use (see {@link #ALGORITHMS})
+     * @param trace The mapped reference string
+     * @param frameCount The number of frames available in memory
+     * @return The total number of page faults
+     * @throws IOException if OPT cannot create its scratch file
+     */
+    public static long simulate(String algorithm, MappedTrace trace, int frameCount) throws IOException {
+        if ("OPT".equals(algorithm)) {
+            return simulateOptimal(trace, frameCount, null);
+        }
+        return simulate(createPolicy(algorithm, frameCount), trace.iterator());
+    }
+
+    /**
+     * Simulates a page replacement algorithm over a streamed reference source,
+     * such as a compact trace file. OPT needs to look ahead, so for OPT the
+     * source is first copied into a temporary mapped trace.
+     * 
+     * @param algorithm The algorithm to use (see {@link #ALGORITHMS})
+     * @param source The reference string
+     * @param frameCount The number of frames available in memory
+     * @return The total number of page faults
+     * @throws IOException if OPT cannot create its scratch files
+     */
+    public static long simulate(String algorithm, ReferenceSource source, int frameCount) throws IOException {
+        return simulate(algorithm, source, frameCount, (Tlb) null);
+    }
+
+    /**
+     * Simulates a page replacement algorithm over a streamed reference source,
+     * translating every reference through a TLB.
+     * 
+     * @param algorithm The algorithm to use (see {@link #ALGORITHMS})
+     * @param source The reference string
+     * @param frameCount The number of frames available in memory
+     * @param tlb The TLB to drive (reset before the run), or null for none
+     * @return The total number of page faults
+     * @throws IOException if OPT cannot create its scratch files
+     */
+    public static long simulate(String algorithm, ReferenceSource source, int frameCount, Tlb tlb) throws IOException {
+        if (!"OPT".equals(algorithm)) {
+            PrimitiveIterator.OfInt references = source.open();
+            try {
+                return simulate(createPolicy(algorithm, frameCount), references, tlb);
+            } finally {
+                ReferenceSource.close(references);
             }
         }
+        if (source instanceof MappedTrace) {
+            return simulateOptimal((MappedTrace) source, frameCount, tlb);
+        }
+        Path copy = Files.createTempFile("opt-trace", ".bin");
+        try {
+            PrimitiveIterator.OfInt references = source.open();
+            try {
+                MappedTrace.write(copy, references);
+            } finally {
+                ReferenceSource.close(references);
+            }
+            try (MappedTrace trace = new MappedTrace(copy)) {
+                return simulateOptimal(trace, frameCount, tlb);
+            }
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+    }
 
+    /**
+     * Simulates a page replacement algorithm with a TLB in front of the frame table.
+     * 
+     * @param algorithm The algorithm to use (see {@link #ALGORITHMS})
+     * @param pages The reference string (sequence of page accesses)
+     * @param frameCount The number of frames available in memory
+     * @param tlb The TLB to drive (reset before the run)
+     * @return The total number of page faults
+     */
+    public static int simulate(String algorithm, int[] pages, int frameCount, Tlb tlb) {
+        ReplacementPolicy policy = "OPT".equals(algorithm)
+                ? new OptimalPolicy(frameCount, OptimalPolicy.computeNextUse(pages))
+                : createPolicy(algorithm, frameCount);
+        return (int) simulate(policy, Arrays.stream(pages).iterator(), tlb);
+    }
+
+    /**
+     * Runs a stream of references through a replacement policy and a TLB.
+     * Pages evicted from memory are also dropped from the TLB, so it only
+     * ever holds translations of resident pages.
+     * 
+     * @param policy The policy to drive (reset before the run)
+     * @param references The page references, consumed until exhausted
+     * @param tlb The TLB to drive (reset before the run), or null for none
+     * @return The total number of page faults
+     */
+    public static long simulate(ReplacementPolicy policy, PrimitiveIterator.OfInt references, Tlb tlb) {
+        if (tlb == null) {
+            return simulate(policy, references);
+        }
+        policy.reset();
+        tlb.reset();
+        long faults = 0;
+        while (references.hasNext()) {
+            int page = references.nextInt();
+            if (!policy.access(page)) {
+                faults++;
+            }
+            translate(tlb, policy, page);
+        }
         return faults;
     }
 
     /**
-     * Finds the optimal page to evict (the one that will be used farthest in the future).
+     * Looks a page up in the TLB after the policy has processed it,
+     * first invalidating whatever the policy evicted.
+     */
+    private static void translate(Tlb tlb, ReplacementPolicy policy, int page) {
+        if (policy instanceof VariableAllocationPolicy) {
+            VariableAllocationPolicy variable = (VariableAllocationPolicy) policy;
+            for (int i = 0; i < variable.getEvictionCount(); i++) {
+                tlb.invalidate(variable.getEvicted(i));
+            }
+        } else if (policy.hasEvicted()) {
+            tlb.invalidate(policy.getLastEvicted());
+        }
+        tlb.access(0, page);
+    }
+
+    /**
+     * Simulates a page replacement algorithm with a prefetcher loading pages
+     * ahead of demand.
      * 
-     * @param frames Current frames in memory
-     * @param pages The complete reference string
-     * @param currentIndex Current position in the reference string
-     * @return Index of the frame to evict
+     * @param algorithm The algorithm to use (see {@link #ALGORITHMS}); OPT is not supported
+     * @param source The reference string
+     * @param frameCount The number of frames available in memory
+     * @param prefetcher The prefetcher to drive (reset before the run)
+     * @return Demand faults and prefetch outcomes
+     */
+    public static PrefetchStats simulate(String algorithm, ReferenceSource source, int frameCount, Prefetcher prefetcher) {
+        if ("OPT".equals(algorithm)) {
+            // OPT's next-use table only covers demand references
+            throw new IllegalArgumentException("OPT cannot be combined with prefetching");
+        }
+        PrimitiveIterator.OfInt references = source.open();
+        try {
+            return simulate(createPolicy(algorithm, frameCount), references, prefetcher);
+        } finally {
+            ReferenceSource.close(references);
+        }
+    }
+
+    /**
+     * Runs a stream of references through a replacement policy with prefetching.
+     * Prefetched pages enter the policy as ordinary accesses, so they compete
+     * for frames with demand-loaded pages and can evict them.
+     * 
+     * @param policy The policy to drive (reset before the run)
+     * @param references The page references, consumed until exhausted
+     * @param prefetcher The prefetcher to drive (reset before the run)
+     * @return Demand faults and prefetch outcomes
      */
-    private static int findOptEviction(List<Integer> frames, int[] pages, int currentIndex) {
-        int indexToRemove = 0;
-        int farthest = -1;
-        
-        for (int j = 0; j < frames.size(); j++) {
-            int curr = frames.get(j);
-            int nextUse = Integer.MAX_VALUE;
-            
-            // Find when this page will be used next
-            for (int k = currentIndex + 1; k < pages.length; k++) {
-                if (pages[k] == curr) {
-                    nextUse = k;
-                    break;
+    public static PrefetchStats simulate(ReplacementPolicy policy, PrimitiveIterator.OfInt references, Prefetcher prefetcher) {
+        policy.reset();
+        prefetcher.reset();
+        // Mirror of the resident set: 1 for prefetched pages not yet referenced, 0 otherwise
+        PageIndex resident = new PageIndex(64);
+        int[] candidates = new int[prefetcher.getMaxDegree()];
+        long count = 0;
+        long faults = 0;
+        long prefetches = 0;
+        long useful = 0;
+        long wasted = 0;
+        while (references.hasNext()) {
+            int page = references.nextInt();
+            count++;
+            boolean hit = policy.access(page);
+            wasted += dropEvicted(policy, resident);
+            if (!hit) {
+                faults++;
+            } else if (resident.get(page) == 1) {
+                useful++;
+            }
+            resident.put(page, 0);
+
+            int suggested = prefetcher.prefetch(page, !hit, candidates);
+            for (int i = 0; i < suggested; i++) {
+                int candidate = candidates[i];
+                if (candidate < 0 || resident.contains(candidate)) {
+                    continue;
                 }
+                policy.access(candidate);
+                wasted += dropEvicted(policy, resident);
+                resident.put(candidate, 1);
+                prefetches++;
             }
-            
-            // Keep track of the page used farthest in the future
-            if (nextUse > farthest) {
-                farthest = nextUse;
-                indexToRemove = j;
+        }
+        return new PrefetchStats(count, faults, prefetches, useful, wasted);
+    }
+
+    /**
+     * Removes whatever the policy just evicted from a resident-set mirror.
+     * 
+     * @return The number of evicted pages that were prefetched and never referenced
+     */
+    private static int dropEvicted(ReplacementPolicy policy, PageIndex resident) {
+        if (policy instanceof VariableAllocationPolicy) {
+            VariableAllocationPolicy variable = (VariableAllocationPolicy) policy;
+            int unused = 0;
+            for (int i = 0; i < variable.getEvictionCount(); i++) {
+                if (resident.remove(variable.getEvicted(i)) == 1) {
+                    unused++;
+                }
             }
+            return unused;
         }
-        
-        return indexToRemove;
+        return policy.hasEvicted() && resident.remove(policy.getLastEvicted()) == 1 ? 1 : 0;
+    }
+
+    /**
+     * Runs OPT over a mapped trace. The next-use table is built into a
+     * memory-mapped scratch file rather than the heap and deleted afterwards.
+     */
+    private static long simulateOptimal(MappedTrace trace, int frameCount, Tlb tlb) throws IOException {
+        Path scratch = Files.createTempFile("opt-next-use", ".bin");
+        try (NextUseTable nextUse = NextUseTable.build(trace, scratch)) {
+            return simulate(trace, nextUse, frameCount, tlb);
+        } finally {
+            Files.deleteIfExists(scratch);
+        }
+    }
+
+    /**
+     * Runs OPT over a mapped trace with a next-use table built beforehand, so
+     * runs for several frame counts can share one table.
+     * 
+     * @param trace The mapped reference string
+     * @param nextUse The trace's next-use table
+     * @param frameCount The number of frames available in memory
+     * @param tlb The TLB to drive (reset before the run), or null for none
+     * @return The total number of page faults
+     */
+    public static long simulate(MappedTrace trace, NextUseTable nextUse, int frameCount, Tlb tlb) {
+        if (nextUse.size() != trace.size()) {
+            throw new IllegalArgumentException("Next-use table does not match the trace");
+        }
+        OptimalPolicy policy = new OptimalPolicy(frameCount, null);
+        if (tlb != null) {
+            tlb.reset();
+        }
+        long n = trace.size();
+        long faults = 0;
+        PrimitiveIterator.OfInt references = trace.iterator();
+        for (long i = 0; i < n; i++) {
+            int page = references.nextInt();
+            if (!policy.access(page, nextUse.get(i))) {
+                faults++;
+            }
+            if (tlb != null) {
+                translate(tlb, policy, page);
+            }
+        }
+        return faults;
     }
 }
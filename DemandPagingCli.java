@@ -0,0 +1,575 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless batch runner for {@link DemandPaging}.
+ * <p>
+ * Usage:
+ * <pre>
+ *   java DemandPagingCli [options] trace...
+ *     -a, --algorithms LIST   comma-separated algorithms (default: all); WS:D sets
+ *                             the working-set window and PFF:N the critical interval
+ *     -f, --frames RANGE      e.g. 16 | 4,8,16 | 1-64 | 8-512:8 (default 1-16)
+ *     -o, --output FILE       write results to FILE instead of stdout
+ *         --format csv|jsonl  output format (default csv)
+ *     -j, --threads N         worker threads (default: all cores)
+ *         --tlb SETSxWAYS[:P] add a TLB (P = lru, fifo or random) and report
+ *                             its hit rate and the effective access time
+ *         --prefetch SPEC     prefetch with readahead[:N], sequential[:INIT[:MAX]]
+ *                             or stride[:N] and report useful and wasted prefetches
+ *         --mrc               estimate the LRU miss-ratio curve by SHARDS sampling
+ *         --sample-pages S    with --mrc, track at most S sampled pages (default 8192)
+ *         --sample-rate R     with --mrc, sample at rate R; alone, a fixed rate
+ * </pre>
+ * Traces may be compact trace files ({@link TraceWriter}), mapped int32 traces
+ * ({@code .bin}) or whitespace-separated text. Text traces are converted to the
+ * compact format once, in a temporary file. When OPT is selected, every trace is
+ * instead converted once to a mapped trace, and its next-use table is built once
+ * and shared by the OPT runs for all frame counts. Every (trace, algorithm, frame count)
+ * run is an independent task; each result is written as soon as it finishes,
+ * with its wall time and references per second. The avg_frames column is the
+ * frame count for fixed-allocation policies and the average resident set size
+ * for variable-allocation ones (WS, PFF), for which the frame count is only the
+ * largest resident set allowed. With prefetching, faults counts demand
+ * faults only; pages loaded speculatively are reported in their own columns.
+ * <p>
+ * With {@code --mrc} each trace is instead read once by a {@link ShardsSampler},
+ * which prints the estimated LRU fault count for every requested frame count.
+ * By default the sample is bounded to 8192 pages, starting from rate 1, so memory
+ * does not depend on the trace. A fixed {@code --sample-rate} without
+ * {@code --sample-pages} keeps every page it samples, so its memory grows with
+ * the number of distinct sampled pages. Traces of up to {@value #MRC_EXACT_LIMIT}
+ * references also get the exact curve from {@link StackDistanceAnalyzer} in the
+ * same pass, with the estimate's mean and maximum absolute miss-ratio error.
+ */
+public class DemandPagingCli {
+
+    /** Longest trace whose exact miss-ratio curve is computed alongside the estimate. */
+    static final long MRC_EXACT_LIMIT = 100_000_000;
+
+    /** Sample size bound used by --mrc unless only a fixed rate is given. */
+    static final int DEFAULT_SAMPLE_PAGES = 8192;
+
+    /**
+     * One simulation to run and, once finished, its measurements.
+     */
+    static class Run {
+        final String trace;
+        final ReferenceSource source;
+        final NextUseTable nextUse; // shared by OPT runs over the same trace, else null
+        final String algorithm;
+        final int frames;
+        final Tlb tlb;
+        final Prefetcher prefetcher;
+        long faults;
+        PrefetchStats prefetchStats;
+        double averageFrames;
+        long nanos;
+
+        Run(String trace, ReferenceSource source, NextUseTable nextUse, String algorithm, int frames, Tlb tlb,
+                Prefetcher prefetcher) {
+            this.trace = trace;
+            this.source = source;
+            this.nextUse = nextUse;
+            this.algorithm = algorithm;
+            this.frames = frames;
+            this.tlb = tlb;
+            this.prefetcher = prefetcher;
+        }
+
+        Run execute() throws IOException {
+            long start = System.nanoTime();
+            if (prefetcher != null) {
+                ReplacementPolicy policy = DemandPaging.createPolicy(algorithm, frames);
+                PrimitiveIterator.OfInt references = source.open();
+                try {
+                    prefetchStats = DemandPaging.simulate(policy, references, prefetcher);
+                } finally {
+                    ReferenceSource.close(references);
+                }
+                faults = prefetchStats.getDemandFaults();
+                averageFrames = policy instanceof VariableAllocationPolicy
+                        ? ((VariableAllocationPolicy) policy).getAverageResidentSize() : frames;
+            } else if ("OPT".equals(algorithm)) {
+                faults = DemandPaging.simulate((MappedTrace) source, nextUse, frames, tlb);
+                averageFrames = frames;
+            } else {
+                ReplacementPolicy policy = DemandPaging.createPolicy(algorithm, frames);
+                PrimitiveIterator.OfInt references = source.open();
+                try {
+                    faults = DemandPaging.simulate(policy, references, tlb);
+                } finally {
+                    ReferenceSource.close(references);
+                }
+                averageFrames = policy instanceof VariableAllocationPolicy
+                        ? ((VariableAllocationPolicy) policy).getAverageResidentSize() : frames;
+            }
+            nanos = System.nanoTime() - start;
+            return this;
+        }
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.exit(run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs a batch described by command-line arguments.
+     * 
+     * @param args Command-line arguments
+     * @return Process exit status (0 when every run succeeded)
+     * @throws IOException if a trace or the output cannot be accessed
+     */
+    public static int run(String[] args) throws IOException {
+        String[] algorithms = DemandPaging.ALGORITHMS;
+        int[] frames = parseFrames("1-16");
+        String output = null;
+        boolean json = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String tlbSpec = null;
+        String prefetchSpec = null;
+        boolean mrc = false;
+        double sampleRate = 0;
+        int samplePages = 0;
+        List<String> traces = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "-a":
+                case "--algorithms":
+                    algorithms = parseAlgorithms(value(args, ++i, arg));
+                    break;
+                case "-f":
+                case "--frames":
+                    frames = parseFrames(value(args, ++i, arg));
+                    break;
+                case "-o":
+                case "--output":
+                    output = value(args, ++i, arg);
+                    break;
+                case "--format":
+                    String format = value(args, ++i, arg);
+                    if (!format.equals("csv") && !format.equals("jsonl")) {
+                        throw new IllegalArgumentException("Unknown format: " + format);
+                    }
+                    json = format.equals("jsonl");
+                    break;
+                case "-j":
+                case "--threads":
+                    threads = Integer.parseInt(value(args, ++i, arg));
+                    if (threads <= 0) {
+                        throw new IllegalArgumentException("Thread count must be positive");
+                    }
+                    break;
+                case "--tlb":
+                    tlbSpec = value(args, ++i, arg);
+                    parseTlb(tlbSpec);
+                    break;
+                case "--prefetch":
+                    prefetchSpec = value(args, ++i, arg);
+                    Prefetcher.create(prefetchSpec);
+                    break;
+                case "--mrc":
+                    mrc = true;
+                    break;
+                case "--sample-rate":
+                    sampleRate = Double.parseDouble(value(args, ++i, arg));
+                    if (!(sampleRate > 0 && sampleRate <= 1)) {
+                        throw new IllegalArgumentException("Sampling rate must be in (0, 1]");
+                    }
+                    break;
+                case "--sample-pages":
+                    samplePages = Integer.parseInt(value(args, ++i, arg));
+                    if (samplePages <= 0) {
+                        throw new IllegalArgumentException("Sample size must be positive");
+                    }
+                    break;
+                case "-h":
+                case "--help":
+                    printUsage();
+                    return 0;
+                default:
+                    if (arg.startsWith("-")) {
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                    }
+                    traces.add(arg);
+            }
+        }
+        if (traces.isEmpty()) {
+            throw new IllegalArgumentException("No trace files given");
+        }
+        if (mrc) {
+            if (algorithms != DemandPaging.ALGORITHMS || tlbSpec != null || prefetchSpec != null) {
+                throw new IllegalArgumentException("--mrc estimates LRU only; it takes no -a, --tlb or --prefetch");
+            }
+            // A rate alone means fixed-rate sampling; otherwise bound the sample size
+            int maxSampledPages = samplePages > 0 ? samplePages
+                    : sampleRate > 0 ? Integer.MAX_VALUE : DEFAULT_SAMPLE_PAGES;
+            return runMissRatioCurves(traces, frames, sampleRate > 0 ? sampleRate : 1.0, maxSampledPages,
+                    output, json);
+        }
+        if (sampleRate > 0 || samplePages > 0) {
+            throw new IllegalArgumentException("--sample-rate and --sample-pages need --mrc");
+        }
+        if (prefetchSpec != null && tlbSpec != null) {
+            throw new IllegalArgumentException("--prefetch cannot be combined with --tlb");
+        }
+        if (prefetchSpec != null && List.of(algorithms).contains("OPT")) {
+            if (algorithms != DemandPaging.ALGORITHMS) {
+                throw new IllegalArgumentException("OPT cannot be combined with --prefetch");
+            }
+            // Running all algorithms: skip OPT rather than fail
+            algorithms = Arrays.stream(algorithms).filter(name -> !name.equals("OPT")).toArray(String[]::new);
+        }
+
+        List<Path> scratch = new ArrayList<>();
+        List<MappedTrace> mapped = new ArrayList<>();
+        List<NextUseTable> tables = new ArrayList<>();
+        boolean optimal = List.of(algorithms).contains("OPT");
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Writer sink = output == null
+                ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8);
+        PrintWriter out = new PrintWriter(new BufferedWriter(sink));
+        int failures = 0;
+        try {
+            CompletionService<Run> completion = new ExecutorCompletionService<>(pool);
+            int submitted = 0;
+            for (String trace : traces) {
+                ReferenceSource source = openTrace(Path.of(trace), optimal, scratch, mapped);
+                NextUseTable nextUse = null;
+                if (optimal) {
+                    Path table = Files.createTempFile("opt-next-use", ".bin");
+                    scratch.add(table);
+                    nextUse = NextUseTable.build((MappedTrace) source, table);
+                    tables.add(nextUse);
+                }
+                for (String algorithm : algorithms) {
+                    for (int k : frames) {
+                        Run run = new Run(trace, source, nextUse, algorithm, k, tlbSpec == null ? null : parseTlb(tlbSpec),
+                                prefetchSpec == null ? null : Prefetcher.create(prefetchSpec));
+                        completion.submit(run::execute);
+                        submitted++;
+                    }
+                }
+            }
+
+            if (!json) {
+                out.println("trace,algorithm,frames,references,faults,hits,fault_rate,avg_frames,wall_ms,refs_per_sec"
+                        + (tlbSpec != null ? ",tlb_hit_rate,eat_ns" : "")
+                        + (prefetchSpec != null ? ",prefetches,useful_prefetches,wasted_prefetches" : ""));
+            }
+            long batchStart = System.nanoTime();
+            for (int i = 0; i < submitted; i++) {
+                try {
+                    Run run = completion.take().get();
+                    out.println(json ? toJson(run) : toCsv(run));
+                    out.flush();
+                } catch (ExecutionException e) {
+                    failures++;
+                    System.err.println("Run failed: " + e.getCause());
+                }
+            }
+            System.err.printf(Locale.ROOT, "%d runs on %d threads in %.2f s%n",
+                    submitted, threads, (System.nanoTime() - batchStart) / 1e9);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failures++;
+        } finally {
+            pool.shutdownNow();
+            out.flush();
+            if (output != null) {
+                out.close();
+            }
+            for (NextUseTable table : tables) {
+                table.close();
+            }
+            for (MappedTrace trace : mapped) {
+                trace.close();
+            }
+            for (Path file : scratch) {
+                Files.deleteIfExists(file);
+            }
+        }
+        return failures == 0 ? 0 : 1;
+    }
+
+    /**
+     * Estimates the LRU miss-ratio curve of each trace in one sampled pass and,
+     * for traces short enough, compares it with the exact curve.
+     * 
+     * @return Process exit status
+     */
+    private static int runMissRatioCurves(List<String> traces, int[] frames, double rate, int maxSampledPages,
+                                          String output, boolean json) throws IOException {
+        int maxFrames = Arrays.stream(frames).max().getAsInt();
+        List<Path> scratch = new ArrayList<>();
+        List<MappedTrace> mapped = new ArrayList<>();
+        Writer sink = output == null
+                ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8);
+        PrintWriter out = new PrintWriter(new BufferedWriter(sink));
+        try {
+            if (!json) {
+                out.println("trace,frames,references,faults,fault_rate,exact_faults,exact_fault_rate");
+            }
+            for (String trace : traces) {
+                ReferenceSource source = openTrace(Path.of(trace), false, scratch, mapped);
+                long start = System.nanoTime();
+                ShardsSampler sampler = new ShardsSampler(rate, maxSampledPages, maxFrames);
+                StackDistanceAnalyzer exact = source.length() <= MRC_EXACT_LIMIT ? new StackDistanceAnalyzer() : null;
+                PrimitiveIterator.OfInt references = source.open();
+                try {
+                    while (references.hasNext()) {
+                        int page = references.nextInt();
+                        sampler.access(page);
+                        if (exact != null) {
+                            exact.access(page);
+                        }
+                    }
+                } finally {
+                    ReferenceSource.close(references);
+                }
+                MissRatioCurve estimate = sampler.toCurve();
+                MissRatioCurve reference = exact == null ? null : exact.toCurve();
+                for (int k : frames) {
+                    out.println(json ? mrcJson(trace, k, estimate, reference) : mrcCsv(trace, k, estimate, reference));
+                }
+                out.flush();
+
+                String summary = String.format(Locale.ROOT, "%s: sampled %d pages at rate %.6f in %.2f s",
+                        trace, sampler.getSampledPages(), sampler.getRate(), (System.nanoTime() - start) / 1e9);
+                if (reference != null) {
+                    summary += String.format(Locale.ROOT, "; vs exact LRU over 1-%d frames: MAE %.6f, max error %.6f",
+                            maxFrames, estimate.meanAbsoluteError(reference, maxFrames),
+                            estimate.maxAbsoluteError(reference, maxFrames));
+                }
+                System.err.println(summary);
+            }
+        } finally {
+            out.flush();
+            if (output != null) {
+                out.close();
+            }
+            for (MappedTrace trace : mapped) {
+                trace.close();
+            }
+            for (Path file : scratch) {
+                Files.deleteIfExists(file);
+            }
+        }
+        return 0;
+    }
+
+    private static String mrcCsv(String trace, int frames, MissRatioCurve estimate, MissRatioCurve exact) {
+        String name = trace.contains(",") || trace.contains("\"")
+                ? "\"" + trace.replace("\"", "\"\"") + "\"" : trace;
+        String row = String.format(Locale.ROOT, "%s,%d,%d,%d,%.6f", name, frames, estimate.getReferences(),
+                estimate.getFaults(frames), estimate.getMissRatio(frames));
+        return row + (exact == null ? ",," : String.format(Locale.ROOT, ",%d,%.6f",
+                exact.getFaults(frames), exact.getMissRatio(frames)));
+    }
+
+    private static String mrcJson(String trace, int frames, MissRatioCurve estimate, MissRatioCurve exact) {
+        String name = trace.replace("\\", "\\\\").replace("\"", "\\\"");
+        String extra = exact == null ? "" : String.format(Locale.ROOT, ",\"exact_faults\":%d,\"exact_fault_rate\":%.6f",
+                exact.getFaults(frames), exact.getMissRatio(frames));
+        return String.format(Locale.ROOT, "{\"trace\":\"%s\",\"frames\":%d,\"references\":%d,\"faults\":%d,"
+                        + "\"fault_rate\":%.6f%s}",
+                name, frames, estimate.getReferences(), estimate.getFaults(frames), estimate.getMissRatio(frames), extra);
+    }
+
+    /**
+     * Opens a trace file in whichever format it is stored.
+     * 
+     * @param file Trace file
+     * @param needsMapped Whether a {@link MappedTrace} is needed (for OPT); other
+     *               formats are then converted once into a temporary one
+     * @param scratch Collects temporary files to delete
+     * @param mapped Collects mapped traces to close
+     */
+    private static ReferenceSource openTrace(Path file, boolean needsMapped, List<Path> scratch,
+                                             List<MappedTrace> mapped) throws IOException {
+        boolean compact = isCompactTrace(file);
+        if (!compact && file.getFileName().toString().endsWith(".bin")) {
+            return map(file, mapped);
+        }
+        if (!needsMapped) {
+            if (compact) {
+                return new TraceFile(file);
+            }
+            Path converted = Files.createTempFile("trace", ".vmt");
+            scratch.add(converted);
+            TraceConverter.convert(file, converted);
+            return new TraceFile(converted);
+        }
+        Path converted = Files.createTempFile("trace", ".bin");
+        scratch.add(converted);
+        if (compact) {
+            PrimitiveIterator.OfInt references = new TraceFile(file).open();
+            try {
+                MappedTrace.write(converted, references);
+            } finally {
+                ReferenceSource.close(references);
+            }
+        } else {
+            TraceConverter.convertMapped(file, converted);
+        }
+        return map(converted, mapped);
+    }
+
+    private static MappedTrace map(Path file, List<MappedTrace> mapped) throws IOException {
+        MappedTrace trace = new MappedTrace(file);
+        mapped.add(trace);
+        return trace;
+    }
+
+    private static boolean isCompactTrace(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] magic = in.readNBytes(4);
+            return magic.length == 4
+                    && ((magic[0] & 0xFF) | (magic[1] & 0xFF) << 8 | (magic[2] & 0xFF) << 16 | (magic[3] & 0xFF) << 24)
+                    == TraceWriter.MAGIC;
+        }
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[i];
+    }
+
+    private static String[] parseAlgorithms(String list) {
+        String[] algorithms = list.toUpperCase(Locale.ROOT).split(",");
+        for (String algorithm : algorithms) {
+            DemandPaging.checkAlgorithm(algorithm);
+        }
+        return algorithms;
+    }
+
+    /**
+     * Parses a TLB shape such as "16x4" or "64x1:fifo" into a new TLB.
+     * The TLB is not flushed, since a batch run has one address space.
+     */
+    static Tlb parseTlb(String spec) {
+        String[] parts = spec.toLowerCase(Locale.ROOT).split(":");
+        String[] shape = parts[0].split("x");
+        if (shape.length != 2 || parts.length > 2) {
+            throw new IllegalArgumentException("Invalid TLB shape: " + spec);
+        }
+        Tlb.Replacement replacement = parts.length == 2
+                ? Tlb.Replacement.valueOf(parts[1].toUpperCase(Locale.ROOT)) : Tlb.Replacement.LRU;
+        return new Tlb(Integer.parseInt(shape[0]), Integer.parseInt(shape[1]), replacement, false);
+    }
+
+    /**
+     * Parses a frame list such as "16", "4,8,16", "1-64" or "8-512:8".
+     */
+    static int[] parseFrames(String spec) {
+        List<Integer> frames = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            int step = 1;
+            int colon = part.indexOf(':');
+            if (colon >= 0) {
+                step = Integer.parseInt(part.substring(colon + 1));
+                part = part.substring(0, colon);
+            }
+            int dash = part.indexOf('-');
+            int from = Integer.parseInt(dash < 0 ? part : part.substring(0, dash));
+            int to = dash < 0 ? from : Integer.parseInt(part.substring(dash + 1));
+            if (from <= 0 || to < from || step <= 0) {
+                throw new IllegalArgumentException("Invalid frame range: " + part);
+            }
+            for (long k = from; k <= to; k += step) {
+                frames.add((int) k);
+            }
+        }
+        return frames.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String toCsv(Run run) {
+        long references = run.source.length();
+        String trace = run.trace.contains(",") || run.trace.contains("\"")
+                ? "\"" + run.trace.replace("\"", "\"\"") + "\"" : run.trace;
+        String row = String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%.6f,%.3f,%.3f,%.0f",
+                trace, run.algorithm, run.frames, references, run.faults, references - run.faults,
+                faultRate(run), run.averageFrames, run.nanos / 1e6, refsPerSecond(run));
+        if (run.tlb != null) {
+            row += String.format(Locale.ROOT, ",%.6f,%.3f", run.tlb.getHitRate(),
+                    AccessCost.DEFAULT.effectiveAccessTime(run.tlb, run.faults));
+        }
+        if (run.prefetchStats != null) {
+            row += String.format(Locale.ROOT, ",%d,%d,%d", run.prefetchStats.getPrefetches(),
+                    run.prefetchStats.getUseful(), run.prefetchStats.getWasted());
+        }
+        return row;
+    }
+
+    private static String toJson(Run run) {
+        long references = run.source.length();
+        String trace = run.trace.replace("\\", "\\\\").replace("\"", "\\\"");
+        String extra = run.tlb == null ? "" : String.format(Locale.ROOT, ",\"tlb_hit_rate\":%.6f,\"eat_ns\":%.3f",
+                run.tlb.getHitRate(), AccessCost.DEFAULT.effectiveAccessTime(run.tlb, run.faults));
+        if (run.prefetchStats != null) {
+            extra += String.format(Locale.ROOT, ",\"prefetches\":%d,\"useful_prefetches\":%d,\"wasted_prefetches\":%d",
+                    run.prefetchStats.getPrefetches(), run.prefetchStats.getUseful(), run.prefetchStats.getWasted());
+        }
+        return String.format(Locale.ROOT,
+                "{\"trace\":\"%s\",\"algorithm\":\"%s\",\"frames\":%d,\"references\":%d,\"faults\":%d,"
+                        + "\"hits\":%d,\"fault_rate\":%.6f,\"avg_frames\":%.3f,\"wall_ms\":%.3f,\"refs_per_sec\":%.0f%s}",
+                trace, run.algorithm, run.frames, references, run.faults, references - run.faults,
+                faultRate(run), run.averageFrames, run.nanos / 1e6, refsPerSecond(run), extra);
+    }
+
+    private static double faultRate(Run run) {
+        long references = run.source.length();
+        return references == 0 ? 0 : (double) run.faults / references;
+    }
+
+    private static double refsPerSecond(Run run) {
+        return run.nanos == 0 ? 0 : run.source.length() * 1e9 / run.nanos;
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: java DemandPagingCli [options] trace...");
+        System.err.println("  -a, --algorithms LIST   comma-separated algorithms (default: all);");
+        System.err.println("                          WS:D sets the working-set window, PFF:N the critical interval");
+        System.err.println("  -f, --frames RANGE      e.g. 16 | 4,8,16 | 1-64 | 8-512:8 (default 1-16)");
+        System.err.println("  -o, --output FILE       write results to FILE instead of stdout");
+        System.err.println("      --format csv|jsonl  output format (default csv)");
+        System.err.println("  -j, --threads N         worker threads (default: all cores)");
+        System.err.println("      --tlb SETSxWAYS[:P] add a TLB (P = lru, fifo, random); reports hit rate and EAT");
+        System.err.println("      --prefetch SPEC     readahead[:N], sequential[:INIT[:MAX]] or stride[:N]");
+        System.err.println("      --mrc               estimate the LRU miss-ratio curve by SHARDS sampling");
+        System.err.println("      --sample-pages S    with --mrc, track at most S sampled pages (default 8192)");
+        System.err.println("      --sample-rate R     with --mrc, sample at rate R; alone, a fixed rate");
+    }
+}
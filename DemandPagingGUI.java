@@ -1,7 +1,9 @@
 import javax.swing.*;
 import java.awt.*;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 /**
@@ -9,36 +11,86 @@ import java.util.stream.IntStream;
  * Provides an interactive interface to simulate various page replacement algorithms.
  */
 public class DemandPagingGUI extends JFrame {
-    private JTextField frameInput, refStringInput;
+
+    /** Playback speeds on the slider, in steps per second; 0 runs unthrottled (turbo). */
+    private static final int[] SPEEDS = {1, 2, 5, 10, 30, 100, 1000, 10000, 0};
+
+    // Display refresh interval while playing, about 60 Hz
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+
+    private JTextField frameInput, refStringInput, windowInput, intervalInput;
     private JButton startButton, nextButton, playPauseButton, chartButton, resetButton;
     private JLabel statusLabel, statsLabel, stepLabel, evictedLabel;
     private JPanel framePanel;
 
-    private List<Integer> frames = new ArrayList<>();
-    private Queue<Integer> fifoQueue = new LinkedList<>();
     private JLabel[] frameLabels;
 
     private int[] pages;
+    private boolean[] writes;
+    private WriteBackTracker writeBacks = new WriteBackTracker();
+    private ReplacementPolicy policy;
     private int frameCount;
     private int currentStep = 0, hits = 0, faults = 0;
     private String algorithm = "FIFO";
+    private long window, criticalInterval; // WS and PFF parameters, in references
 
     private JComboBox<String> algorithmSelector;
 
-    private javax.swing.Timer autoTimer;
+    private JSlider speedSlider;
+
+    // Playback runs on a worker thread; modelLock guards the simulation state above
+    private final Object modelLock = new Object();
+    private SwingWorker<Void, Snapshot> player;
+    private volatile int stepsPerSecond = SPEEDS[0];
     private boolean isPlaying = false;
 
+    // Outcome of the most recent step, formatted only when it is displayed
+    private int lastPage;
+    private boolean lastHit, lastWrite;
+    private String lastEvictedText = "Evicted Page: -";
+
+    // Page shown in each frame, kept in step with the policy in O(1) per reference
+    private int[] framePages;
+    private boolean[] frameUsed;
+    private PageIndex frameOfPage;
+    private int[] freeFrames; // unused frames, the next one to fill on top
+    private int freeCount;
+
+    /**
+     * What the display shows after a step, captured under modelLock.
+     */
+    private static final class Snapshot {
+        final int[] frames;
+        final boolean[] used;
+        final int page;
+        final boolean hit;
+        final int step;
+        final String status, evicted, stats;
+
+        Snapshot(int[] frames, boolean[] used, int page, boolean hit, int step, String status, String evicted,
+                String stats) {
+            this.frames = frames;
+            this.used = used;
+            this.page = page;
+            this.hit = hit;
+            this.step = step;
+            this.status = status;
+            this.evicted = evicted;
+            this.stats = stats;
+        }
+    }
+
     /**
      * Constructs and initializes the GUI.
      */
     public DemandPagingGUI() {
-        setTitle("Demand Paging Simulation - FIFO, LRU, MRU, OPT");
+        setTitle("Demand Paging Simulation - " + String.join(", ", DemandPaging.ALGORITHMS));
         setSize(900, 600);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setLayout(new BorderLayout(10, 10));
 
         // Input Panel
-        JPanel inputPanel = new JPanel(new GridLayout(7, 2, 10, 10));
+        JPanel inputPanel = new JPanel(new GridLayout(9, 2, 10, 10));
         inputPanel.setBorder(BorderFactory.createTitledBorder(
             BorderFactory.createEtchedBorder(), "Simulation Settings"));
 
@@ -48,13 +100,24 @@ public class DemandPagingGUI extends JFrame {
 
         inputPanel.add(new JLabel("Reference String (space-separated):"));
         refStringInput = new JTextField("7 0 1 2 0 3 0 4 2 3 0 3 2");
+        refStringInput.setToolTipText("Page numbers, or @path to load a compact trace file");
         inputPanel.add(refStringInput);
 
         inputPanel.add(new JLabel("Algorithm:"));
-        algorithmSelector = new JComboBox<>(new String[]{"FIFO", "LRU", "MRU", "OPT"});
+        algorithmSelector = new JComboBox<>(DemandPaging.ALGORITHMS);
         algorithmSelector.setFont(new Font("Arial", Font.PLAIN, 14));
         inputPanel.add(algorithmSelector);
 
+        inputPanel.add(new JLabel("WS Window \u0394 (references):"));
+        windowInput = new JTextField("4");
+        windowInput.setToolTipText("Pages referenced within this many references stay resident, up to the frame count");
+        inputPanel.add(windowInput);
+
+        inputPanel.add(new JLabel("PFF Critical Interval (references):"));
+        intervalInput = new JTextField("4");
+        intervalInput.setToolTipText("A fault after a longer fault-free run drops pages unused since the previous fault");
+        inputPanel.add(intervalInput);
+
         startButton = new JButton("Start Simulation");
         startButton.setBackground(new Color(46, 204, 113));
         startButton.setForeground(Color.WHITE);
@@ -86,6 +149,18 @@ public class DemandPagingGUI extends JFrame {
         resetButton.setFocusPainted(false);
         inputPanel.add(resetButton);
 
+        inputPanel.add(new JLabel("Playback Speed (steps/sec):"));
+        speedSlider = new JSlider(0, SPEEDS.length - 1, 0);
+        Hashtable<Integer, JLabel> speedLabels = new Hashtable<>();
+        for (int i = 0; i < SPEEDS.length; i++) {
+            speedLabels.put(i, new JLabel(SPEEDS[i] == 0 ? "Max" : SPEEDS[i] >= 1000 ? SPEEDS[i] / 1000 + "k" : String.valueOf(SPEEDS[i])));
+        }
+        speedSlider.setLabelTable(speedLabels);
+        speedSlider.setPaintLabels(true);
+        speedSlider.setSnapToTicks(true);
+        speedSlider.addChangeListener(e -> stepsPerSecond = SPEEDS[speedSlider.getValue()]);
+        inputPanel.add(speedSlider);
+
         add(inputPanel, BorderLayout.NORTH);
 
         // Center Panel - Frame Display
@@ -138,23 +213,57 @@ public class DemandPagingGUI extends JFrame {
      * Initializes and starts a new simulation.
      */
     private void startSimulation() {
+        cancelPlayback();
+        synchronized (modelLock) {
+            setUpSimulation();
+        }
+    }
+
+    /**
+     * Parses the input and prepares the model and the frame display. Callers hold modelLock.
+     */
+    private void setUpSimulation() {
         try {
             frameCount = Integer.parseInt(frameInput.getText().trim());
             if (frameCount <= 0) {
                 throw new IllegalArgumentException("Frame count must be positive");
             }
+            window = parsePositive(windowInput, "Working-set window");
+            criticalInterval = parsePositive(intervalInput, "Critical interval");
             
-            String[] parts = refStringInput.getText().trim().split("\\s+");
-            pages = Arrays.stream(parts).mapToInt(Integer::parseInt).toArray();
+            String input = refStringInput.getText().trim();
+            if (input.startsWith("@")) {
+                // Load a compact trace file; the step view needs the whole string
+                pages = new TraceFile(Path.of(input.substring(1).trim())).toArray();
+                writes = new boolean[pages.length];
+            } else {
+                // Pages may carry an r/w suffix, e.g. "1 2w 3r"
+                ReferenceString references = ReferenceString.parse(input);
+                pages = references.getPages();
+                writes = references.getWrites();
+            }
             
             if (pages.length == 0) {
                 throw new IllegalArgumentException("Reference string cannot be empty");
             }
             
             algorithm = (String) algorithmSelector.getSelectedItem();
+            if (algorithm.equals("OPT")) {
+                // Victims come off a max-heap keyed by next use, in O(log k) per fault
+                policy = new OptimalPolicy(frameCount, OptimalPolicy.computeNextUse(pages));
+            } else {
+                policy = DemandPaging.createPolicy(withParameter(algorithm), frameCount);
+            }
 
-            frames.clear();
-            fifoQueue.clear();
+            framePages = new int[frameCount];
+            frameUsed = new boolean[frameCount];
+            frameOfPage = new PageIndex(frameCount);
+            freeFrames = new int[frameCount];
+            for (int i = 0; i < frameCount; i++) {
+                freeFrames[i] = frameCount - 1 - i;
+            }
+            freeCount = frameCount;
+            writeBacks.reset();
             currentStep = 0;
             hits = 0;
             faults = 0;
@@ -184,14 +293,8 @@ public class DemandPagingGUI extends JFrame {
 
             nextButton.setEnabled(true);
             playPauseButton.setEnabled(true);
-            playPauseButton.setText("Play");
-            isPlaying = false;
             chartButton.setEnabled(false);
 
-            if (autoTimer != null && autoTimer.isRunning()) {
-                autoTimer.stop();
-            }
-
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this, 
                 "Invalid input: " + ex.getMessage() + "\nPlease enter valid integers.", 
@@ -201,92 +304,144 @@ public class DemandPagingGUI extends JFrame {
     }
 
     /**
-     * Executes one step of the simulation.
+     * Executes one step of the simulation and shows its outcome.
      */
     private void runStep() {
-        if (currentStep >= pages.length) {
-            statusLabel.setText("Simulation complete!");
-            nextButton.setEnabled(false);
-            playPauseButton.setEnabled(false);
-            chartButton.setEnabled(true);
-
-            if (autoTimer != null && autoTimer.isRunning()) {
-                autoTimer.stop();
-                isPlaying = false;
-                playPauseButton.setText("Play");
+        Snapshot snapshot = null;
+        synchronized (modelLock) {
+            if (currentStep < pages.length) {
+                step();
+                snapshot = snapshot();
             }
-
-            double hitRatio = (hits / (double) pages.length) * 100;
-            double missRatio = (faults / (double) pages.length) * 100;
-
-            String summary = String.format(
-                "Simulation Finished!\n\n" +
-                "Algorithm: %s\n" +
-                "Total References: %d\n" +
-                "Hits: %d\n" +
-                "Faults: %d\n" +
-                "Hit Ratio: %.2f%%\n" +
-                "Miss Ratio: %.2f%%",
-                algorithm, pages.length, hits, faults, hitRatio, missRatio
-            );
-
-            JOptionPane.showMessageDialog(this, summary, "Final Statistics", JOptionPane.INFORMATION_MESSAGE);
-            return;
         }
+        if (snapshot == null) {
+            finishSimulation();
+        } else {
+            showSnapshot(snapshot);
+        }
+    }
 
-        int page = pages[currentStep];
-        boolean hit = frames.contains(page);
+    /**
+     * Shows the completion state and the final statistics.
+     */
+    private void finishSimulation() {
+        stopPlayback();
+        statusLabel.setText("Simulation complete!");
+        nextButton.setEnabled(false);
+        playPauseButton.setEnabled(false);
+        chartButton.setEnabled(true);
+
+        double hitRatio = (hits / (double) pages.length) * 100;
+        double missRatio = (faults / (double) pages.length) * 100;
+
+        String summary = String.format(
+            "Simulation Finished!\n\n" +
+            "Algorithm: %s\n" +
+            "Total References: %d\n" +
+            "Hits: %d\n" +
+            "Faults: %d\n" +
+            "Hit Ratio: %.2f%%\n" +
+            "Miss Ratio: %.2f%%\n" +
+            "Write-backs: %d",
+            algorithm, pages.length, hits, faults, hitRatio, missRatio, writeBacks.getWriteBacks()
+        );
+
+        JOptionPane.showMessageDialog(this, summary, "Final Statistics", JOptionPane.INFORMATION_MESSAGE);
+    }
 
-        // Reset colors
-        for (JLabel label : frameLabels) {
-            label.setBackground(Color.WHITE);
+    /**
+     * Advances the model by one reference without touching any component,
+     * so it can run off the event dispatch thread. Callers hold modelLock.
+     */
+    private void step() {
+        int page = pages[currentStep];
+        boolean write = writes[currentStep];
+        boolean hit = policy.access(page, write);
+        writeBacks.record(policy, page, write);
+        String released = null;
+        if (policy instanceof VariableAllocationPolicy) {
+            // Variable allocation may release several pages, even on a hit
+            VariableAllocationPolicy variable = (VariableAllocationPolicy) policy;
+            StringJoiner list = new StringJoiner(", ");
+            for (int i = 0; i < variable.getEvictionCount(); i++) {
+                freeFrame(variable.getEvicted(i));
+                list.add(String.valueOf(variable.getEvicted(i)));
+            }
+            released = list.length() > 0 ? list.toString() : null;
+        } else if (policy.hasEvicted()) {
+            freeFrame(policy.getLastEvicted());
         }
 
         if (hit) {
             hits++;
-            if (algorithm.equals("LRU") || algorithm.equals("MRU")) {
-                frames.remove(Integer.valueOf(page));
-                frames.add(page);
-            }
-            statusLabel.setText("✓ HIT → Page " + page + " is already in memory");
-            statusLabel.setForeground(new Color(39, 174, 96));
-            evictedLabel.setText("Evicted Page: -");
+            lastEvictedText = released != null ? "Released: " + released : "Evicted Page: -";
         } else {
             faults++;
-            statusLabel.setText("✗ FAULT → Page " + page + " not in memory");
-            statusLabel.setForeground(new Color(192, 57, 43));
-            
-            if (frames.size() < frameCount) {
-                frames.add(page);
-                evictedLabel.setText("Evicted Page: - (frame available)");
+            if (released != null) {
+                lastEvictedText = "Released: " + released;
+            } else if (policy.hasEvicted()) {
+                lastEvictedText = "Evicted Page: " + policy.getLastEvicted();
             } else {
-                int indexToRemove = switch (algorithm) {
-                    case "FIFO" -> frames.indexOf(fifoQueue.poll());
-                    case "OPT" -> findOptEviction(frames, pages, currentStep);
-                    case "MRU" -> frames.size() - 1;
-                    case "LRU" -> 0;
-                    default -> 0;
-                };
-                int evicted = frames.get(indexToRemove);
-                frames.remove(indexToRemove);
-                frames.add(page);
-                evictedLabel.setText("Evicted Page: " + evicted);
-                if (!algorithm.equals("FIFO")) {
-                    fifoQueue.remove(evicted);
-                }
+                lastEvictedText = "Evicted Page: - (frame available)";
             }
-            fifoQueue.add(page);
+            // The new page takes the frame just freed, so the other pages stay in place
+            int frame = freeFrames[--freeCount];
+            framePages[frame] = page;
+            frameUsed[frame] = true;
+            frameOfPage.put(page, frame);
         }
+        lastPage = page;
+        lastHit = hit;
+        lastWrite = write;
+        currentStep++;
+    }
+
+    private void freeFrame(int page) {
+        int frame = frameOfPage.remove(page);
+        frameUsed[frame] = false;
+        freeFrames[freeCount++] = frame;
+    }
 
-        // Update frame display
+    /**
+     * Captures what the display needs after the latest step. Callers hold modelLock.
+     */
+    private Snapshot snapshot() {
+        String access = lastWrite ? "Write to page " : "Page ";
+        String status = lastHit
+                ? "✓ HIT → " + access + lastPage + " is already in memory"
+                : "✗ FAULT → " + access + lastPage + " not in memory";
+        double hitRatio = (hits / (double) currentStep) * 100;
+        String stats = String.format("Hits: %d | Faults: %d | Hit Ratio: %.2f%%", hits, faults, hitRatio);
+        if (writeBacks.getWrites() > 0) {
+            stats += String.format(" | Write-backs: %d (dirty: %d)",
+                    writeBacks.getWriteBacks(), writeBacks.getDirtyCount());
+        }
+        if (policy instanceof ArcPolicy) {
+            ArcPolicy arc = (ArcPolicy) policy;
+            stats += String.format(" | ARC p: %d (T1: %d, T2: %d)",
+                    arc.getTarget(), arc.getRecentCount(), arc.getFrequentCount());
+        }
+        if (policy instanceof VariableAllocationPolicy) {
+            stats += String.format(" | Resident: %d (avg %.2f)",
+                    policy.getResidentCount(), ((VariableAllocationPolicy) policy).getAverageResidentSize());
+        }
+        return new Snapshot(framePages.clone(), frameUsed.clone(), lastPage, lastHit, currentStep, status,
+                lastEvictedText, stats);
+    }
+
+    /**
+     * Updates the frame display and the status labels from a snapshot.
+     */
+    private void showSnapshot(Snapshot snapshot) {
         for (int i = 0; i < frameCount; i++) {
-            if (i < frames.size()) {
-                int val = frames.get(i);
+            if (snapshot.used[i]) {
+                int val = snapshot.frames[i];
                 frameLabels[i].setText(String.valueOf(val));
-                if (val == page) {
-                    frameLabels[i].setBackground(hit ? new Color(46, 204, 113) : new Color(231, 76, 60));
+                if (val == snapshot.page) {
+                    frameLabels[i].setBackground(snapshot.hit ? new Color(46, 204, 113) : new Color(231, 76, 60));
                     frameLabels[i].setForeground(Color.WHITE);
                 } else {
+                    frameLabels[i].setBackground(Color.WHITE);
                     frameLabels[i].setForeground(Color.BLACK);
                 }
             } else {
@@ -295,38 +450,61 @@ public class DemandPagingGUI extends JFrame {
             }
         }
 
-        currentStep++;
-        stepLabel.setText("Step: " + currentStep + " / " + pages.length);
-        double hitRatio = (hits / (double) currentStep) * 100;
-        statsLabel.setText(String.format("Hits: %d | Faults: %d | Hit Ratio: %.2f%%",
-                hits, faults, hitRatio));
+        statusLabel.setText(snapshot.status);
+        statusLabel.setForeground(snapshot.hit ? new Color(39, 174, 96) : new Color(192, 57, 43));
+        evictedLabel.setText(snapshot.evicted);
+        stepLabel.setText("Step: " + snapshot.step + " / " + pages.length);
+        statsLabel.setText(snapshot.stats);
     }
 
     /**
      * Displays a bar chart comparing all algorithms.
+     * The algorithms are simulated in parallel off the event dispatch thread.
      */
     private void showBarChart() {
-        int[] faultResults = {
-            DemandPaging.simulate("FIFO", pages, frameCount),
-            DemandPaging.simulate("LRU", pages, frameCount),
-            DemandPaging.simulate("MRU", pages, frameCount),
-            DemandPaging.simulate("OPT", pages, frameCount)
-        };
-        String[] algos = {"FIFO", "LRU", "MRU", "OPT"};
-
-        // Sort by fault count (ascending)
-        Integer[] indices = IntStream.range(0, faultResults.length).boxed()
-                .sorted(Comparator.comparingInt(i -> faultResults[i]))
-                .toArray(Integer[]::new);
-
-        int[] sortedFaults = new int[faultResults.length];
-        String[] sortedAlgos = new String[algos.length];
-        for (int i = 0; i < indices.length; i++) {
-            sortedFaults[i] = faultResults[indices[i]];
-            sortedAlgos[i] = algos[indices[i]];
-        }
+        String[] algos = Arrays.stream(DemandPaging.ALGORITHMS).map(this::withParameter).toArray(String[]::new);
+        int[] chartPages = pages;
+        int chartFrames = frameCount;
+        chartButton.setEnabled(false);
+
+        new SwingWorker<PagingSweep.Result, Void>() {
+            @Override
+            protected PagingSweep.Result doInBackground() {
+                return PagingSweep.run(chartPages, algos, chartFrames, chartFrames);
+            }
+
+            @Override
+            protected void done() {
+                chartButton.setEnabled(true);
+                int[] faultResults;
+                try {
+                    PagingSweep.Result result = get();
+                    faultResults = Arrays.stream(algos)
+                            .mapToInt(a -> result.getFaults(a, chartFrames))
+                            .toArray();
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(DemandPagingGUI.this,
+                        "Could not compare algorithms: " + ex.getMessage(),
+                        "Chart Error",
+                        JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
 
-        new BarChartFrame(sortedAlgos, sortedFaults);
+                // Sort by fault count (ascending)
+                Integer[] indices = IntStream.range(0, faultResults.length).boxed()
+                        .sorted(Comparator.comparingInt(i -> faultResults[i]))
+                        .toArray(Integer[]::new);
+
+                int[] sortedFaults = new int[faultResults.length];
+                String[] sortedAlgos = new String[algos.length];
+                for (int i = 0; i < indices.length; i++) {
+                    sortedFaults[i] = faultResults[indices[i]];
+                    sortedAlgos[i] = algos[indices[i]];
+                }
+
+                new BarChartFrame(sortedAlgos, sortedFaults);
+            }
+        }.execute();
     }
 
     /**
@@ -334,34 +512,130 @@ public class DemandPagingGUI extends JFrame {
      */
     private void toggleAutoPlay() {
         if (isPlaying) {
-            autoTimer.stop();
-            playPauseButton.setText("Play");
-            playPauseButton.setBackground(new Color(52, 152, 219));
-            isPlaying = false;
+            stopPlayback();
         } else {
-            autoTimer = new javax.swing.Timer(1000, e -> runStep());
-            autoTimer.start();
-            playPauseButton.setText("Pause");
-            playPauseButton.setBackground(new Color(230, 126, 34));
-            isPlaying = true;
+            startPlayback();
         }
     }
 
+    /**
+     * Plays the remaining references on a background thread at the slider speed.
+     * Display snapshots are published at most about 60 times per second, and
+     * Swing coalesces those that arrive faster than it can show them.
+     */
+    private void startPlayback() {
+        nextButton.setEnabled(false);
+        playPauseButton.setText("Pause");
+        playPauseButton.setBackground(new Color(230, 126, 34));
+        isPlaying = true;
+
+        player = new SwingWorker<Void, Snapshot>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                long lastPublish = System.nanoTime();
+                long origin = lastPublish; // pacing restarts here whenever the speed changes
+                long paced = 0;
+                int rate = stepsPerSecond;
+                boolean unpublished = false;
+                while (true) {
+                    long now = System.nanoTime();
+                    if (rate != stepsPerSecond) {
+                        rate = stepsPerSecond;
+                        origin = now;
+                        paced = 0;
+                    }
+                    long due = rate > 0 ? origin + paced * 1_000_000_000L / rate : now;
+                    if (due > now) {
+                        // Ahead of schedule: show the latest step unless another follows within a frame
+                        if (unpublished && (now - lastPublish >= FRAME_NANOS || due - now >= FRAME_NANOS)) {
+                            synchronized (modelLock) {
+                                publish(snapshot());
+                            }
+                            lastPublish = now;
+                            unpublished = false;
+                        }
+                        // Nap at most a frame so speed changes take effect promptly
+                        TimeUnit.NANOSECONDS.sleep(Math.min(due - now, FRAME_NANOS));
+                        continue;
+                    }
+                    synchronized (modelLock) {
+                        if (isCancelled() || currentStep >= pages.length) {
+                            return null;
+                        }
+                        step();
+                        paced++;
+                        unpublished = true;
+                        if (now - lastPublish >= FRAME_NANOS) {
+                            publish(snapshot());
+                            lastPublish = now;
+                            unpublished = false;
+                        }
+                    }
+                }
+            }
+
+            @Override
+            protected void process(List<Snapshot> chunks) {
+                if (!isCancelled()) {
+                    showSnapshot(chunks.get(chunks.size() - 1));
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (!isCancelled()) {
+                    finishSimulation();
+                }
+            }
+        };
+        player.execute();
+    }
+
+    /**
+     * Stops playback, showing the simulation at the last executed step.
+     */
+    private void stopPlayback() {
+        if (player == null) {
+            return;
+        }
+        cancelPlayback();
+        Snapshot last;
+        boolean more;
+        synchronized (modelLock) {
+            last = currentStep > 0 ? snapshot() : null;
+            more = currentStep < pages.length;
+        }
+        if (last != null) {
+            showSnapshot(last);
+        }
+        nextButton.setEnabled(more);
+    }
+
+    /**
+     * Cancels playback, if running. Once this returns the worker performs no
+     * further steps, as it checks for cancellation under modelLock.
+     */
+    private void cancelPlayback() {
+        if (player != null) {
+            player.cancel(true);
+            player = null;
+        }
+        playPauseButton.setText("Play");
+        playPauseButton.setBackground(new Color(52, 152, 219));
+        isPlaying = false;
+    }
+
     /**
      * Resets the simulation to initial state.
      */
     private void resetSimulation() {
-        if (autoTimer != null && autoTimer.isRunning()) {
-            autoTimer.stop();
+        cancelPlayback();
+        synchronized (modelLock) {
+            currentStep = 0;
+            hits = 0;
+            faults = 0;
         }
         
-        frames.clear();
-        fifoQueue.clear();
-        currentStep = 0;
-        hits = 0;
-        faults = 0;
-        isPlaying = false;
-        
         framePanel.removeAll();
         framePanel.revalidate();
         framePanel.repaint();
@@ -374,36 +648,26 @@ public class DemandPagingGUI extends JFrame {
         
         nextButton.setEnabled(false);
         playPauseButton.setEnabled(false);
-        playPauseButton.setText("Play");
-        playPauseButton.setBackground(new Color(52, 152, 219));
         chartButton.setEnabled(false);
     }
 
+    private static long parsePositive(JTextField field, String name) {
+        long value = Long.parseLong(field.getText().trim());
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
     /**
-     * Finds the optimal page to evict using the OPT algorithm.
+     * Appends the window or critical interval from the input fields to WS and PFF.
      */
-    private int findOptEviction(List<Integer> frames, int[] pages, int currentIndex) {
-        int indexToRemove = 0;
-        int farthest = -1;
-        
-        for (int j = 0; j < frames.size(); j++) {
-            int curr = frames.get(j);
-            int nextUse = Integer.MAX_VALUE;
-            
-            for (int k = currentIndex + 1; k < pages.length; k++) {
-                if (pages[k] == curr) {
-                    nextUse = k;
-                    break;
-                }
-            }
-            
-            if (nextUse > farthest) {
-                farthest = nextUse;
-                indexToRemove = j;
-            }
-        }
-        
-        return indexToRemove;
+    private String withParameter(String algorithm) {
+        return switch (algorithm) {
+            case "WS" -> "WS:" + window;
+            case "PFF" -> "PFF:" + criticalInterval;
+            default -> algorithm;
+        };
     }
 
     /**
@@ -0,0 +1,120 @@
+/**
+ * Enhanced second chance (the NRU classes on a clock), as in classic Mac OS and
+ * the textbook "not recently used" algorithm.
+ * <p>
+ * Every frame has a reference bit R and a modify bit M, giving four classes:
+ * (0,0) not used and clean, (0,1) not used but dirty, (1,0) used and clean,
+ * (1,1) used and dirty. The hand first looks for a (0,0) frame without touching
+ * any bits. If there is none, it looks for a (0,1) frame and clears R on every
+ * frame it passes, then repeats. Clean pages are thus preferred over dirty ones
+ * of the same class, which saves the write-back to disk.
+ */
+public class EnhancedSecondChancePolicy implements ReplacementPolicy {
+    private final int frameCount;
+    private final int[] slotPage;
+    private final boolean[] referenced;
+    private final boolean[] modified;
+    private final PageIndex index;
+    private int used;
+    private int hand;
+    private int lastEvicted;
+    private boolean hasEvicted; // whether lastEvicted holds a page
+    private boolean lastEvictedDirty;
+
+    /**
+     * Creates an enhanced second-chance policy.
+     * 
+     * @param frameCount The number of frames available in memory
+     */
+    public EnhancedSecondChancePolicy(int frameCount) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        this.frameCount = frameCount;
+        this.slotPage = new int[frameCount];
+        this.referenced = new boolean[frameCount];
+        this.modified = new boolean[frameCount];
+        this.index = new PageIndex(frameCount);
+        this.lastEvicted = NO_PAGE;
+    }
+
+    @Override
+    public boolean access(int page) {
+        return access(page, false);
+    }
+
+    @Override
+    public boolean access(int page, boolean write) {
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        lastEvictedDirty = false;
+        int slot = index.get(page);
+        if (slot != PageIndex.ABSENT) {
+            referenced[slot] = true;
+            modified[slot] |= write;
+            return true;
+        }
+
+        if (used < frameCount) {
+            slot = used++;
+        } else {
+            slot = selectVictim();
+            lastEvicted = slotPage[slot];
+            hasEvicted = true;
+            lastEvictedDirty = modified[slot];
+            index.remove(lastEvicted);
+            hand = slot + 1 == frameCount ? 0 : slot + 1;
+        }
+        slotPage[slot] = page;
+        referenced[slot] = true;
+        modified[slot] = write;
+        index.put(page, slot);
+        return false;
+    }
+
+    /**
+     * Sweeps for the lowest non-empty NRU class. Terminates within four sweeps,
+     * since the second sweep clears every reference bit.
+     */
+    private int selectVictim() {
+        while (true) {
+            // Not referenced, not modified: evict without touching any bits
+            for (int i = 0, s = hand; i < frameCount; i++, s = s + 1 == frameCount ? 0 : s + 1) {
+                if (!referenced[s] && !modified[s]) {
+                    return s;
+                }
+            }
+            // Not referenced but modified: costs a write-back; clear R on the way
+            for (int i = 0, s = hand; i < frameCount; i++, s = s + 1 == frameCount ? 0 : s + 1) {
+                if (!referenced[s] && modified[s]) {
+                    return s;
+                }
+                referenced[s] = false;
+            }
+        }
+    }
+
+    @Override
+    public int getLastEvicted() { return lastEvicted; }
+
+    @Override
+    public boolean hasEvicted() { return hasEvicted; }
+
+    /**
+     * Checks whether the page evicted by the most recent access was dirty.
+     */
+    public boolean wasLastEvictedDirty() { return lastEvictedDirty; }
+
+    @Override
+    public int getResidentCount() { return used; }
+
+    @Override
+    public void reset() {
+        index.clear();
+        used = 0;
+        hand = 0;
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        lastEvictedDirty = false;
+    }
+}
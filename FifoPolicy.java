@@ -0,0 +1,70 @@
+/**
+ * FIFO page replacement. Since the oldest page is always the one evicted and the
+ * new page takes its frame, frames are reused in a fixed rotation and a single
+ * hand pointer replaces the queue.
+ */
+public class FifoPolicy implements ReplacementPolicy {
+    private final int frameCount;
+    private final int[] slotPage;
+    private final PageIndex index;
+    private int used;
+    private int hand;
+    private int lastEvicted;
+    private boolean hasEvicted; // whether lastEvicted holds a page
+
+    /**
+     * Creates a FIFO policy.
+     * 
+     * @param frameCount The number of frames available in memory
+     */
+    public FifoPolicy(int frameCount) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        this.frameCount = frameCount;
+        this.slotPage = new int[frameCount];
+        this.index = new PageIndex(frameCount);
+        this.lastEvicted = NO_PAGE;
+    }
+
+    @Override
+    public boolean access(int page) {
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        if (index.contains(page)) {
+            return true;
+        }
+
+        int slot;
+        if (used < frameCount) {
+            slot = used++;
+        } else {
+            slot = hand;
+            hand = hand + 1 == frameCount ? 0 : hand + 1;
+            lastEvicted = slotPage[slot];
+            hasEvicted = true;
+            index.remove(lastEvicted);
+        }
+        slotPage[slot] = page;
+        index.put(page, slot);
+        return false;
+    }
+
+    @Override
+    public int getLastEvicted() { return lastEvicted; }
+
+    @Override
+    public boolean hasEvicted() { return hasEvicted; }
+
+    @Override
+    public int getResidentCount() { return used; }
+
+    @Override
+    public void reset() {
+        index.clear();
+        used = 0;
+        hand = 0;
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+    }
+}
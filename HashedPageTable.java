@@ -0,0 +1,135 @@
+import java.util.Arrays;
+
+/**
+ * A hashed page table with chaining, as on PA-RISC and IA-64 for sparse
+ * 64-bit address spaces.
+ * <p>
+ * A walk reads the bucket pointer and then every chain entry up to the match,
+ * so its cost depends on the load factor, not on address-space size. Each entry
+ * stores the full virtual page number, the frame and a chain pointer.
+ */
+public class HashedPageTable implements PageTable {
+
+    // Bytes per chain entry: VPN, frame and next pointer
+    private static final int CHAIN_ENTRY_BYTES = 3 * ENTRY_BYTES;
+
+    private final int[] buckets;  // first entry of each chain
+    private long[] vpns;
+    private int[] frames;
+    private int[] next;           // next entry in the chain, or free list link
+    private int freeList;
+    private int used;             // entries ever allocated
+    private int mapped;
+    private long lookups;
+    private long memoryAccesses;
+
+    /**
+     * Creates an empty hashed page table.
+     * 
+     * @param bucketCount Number of hash buckets (a power of two)
+     */
+    public HashedPageTable(int bucketCount) {
+        if (bucketCount <= 0 || Integer.bitCount(bucketCount) != 1) {
+            throw new IllegalArgumentException("Bucket count must be a power of two");
+        }
+        this.buckets = new int[bucketCount];
+        this.vpns = new long[16];
+        this.frames = new int[16];
+        this.next = new int[16];
+        clear();
+    }
+
+    @Override
+    public int lookup(long vpn) {
+        lookups++;
+        memoryAccesses++;
+        for (int e = buckets[bucket(vpn)]; e != NOT_MAPPED; e = next[e]) {
+            memoryAccesses++;
+            if (vpns[e] == vpn) {
+                return frames[e];
+            }
+        }
+        return NOT_MAPPED;
+    }
+
+    @Override
+    public void map(long vpn, int frame) {
+        if (frame < 0) {
+            throw new IllegalArgumentException("Frame must not be negative");
+        }
+        int b = bucket(vpn);
+        for (int e = buckets[b]; e != NOT_MAPPED; e = next[e]) {
+            if (vpns[e] == vpn) {
+                frames[e] = frame;
+                return;
+            }
+        }
+        int e;
+        if (freeList != NOT_MAPPED) {
+            e = freeList;
+            freeList = next[e];
+        } else {
+            if (used == vpns.length) {
+                vpns = Arrays.copyOf(vpns, used * 2);
+                frames = Arrays.copyOf(frames, used * 2);
+                next = Arrays.copyOf(next, used * 2);
+            }
+            e = used++;
+        }
+        vpns[e] = vpn;
+        frames[e] = frame;
+        next[e] = buckets[b];
+        buckets[b] = e;
+        mapped++;
+    }
+
+    @Override
+    public void unmap(long vpn) {
+        int b = bucket(vpn);
+        int previous = NOT_MAPPED;
+        for (int e = buckets[b]; e != NOT_MAPPED; previous = e, e = next[e]) {
+            if (vpns[e] == vpn) {
+                if (previous == NOT_MAPPED) {
+                    buckets[b] = next[e];
+                } else {
+                    next[previous] = next[e];
+                }
+                next[e] = freeList;
+                freeList = e;
+                mapped--;
+                return;
+            }
+        }
+    }
+
+    private int bucket(long vpn) {
+        return PageTable.hash(vpn) & (buckets.length - 1);
+    }
+
+    @Override
+    public int getMappedCount() { return mapped; }
+
+    @Override
+    public long getLookups() { return lookups; }
+
+    @Override
+    public long getMemoryAccesses() { return memoryAccesses; }
+
+    @Override
+    public long getFootprintBytes() {
+        return (long) buckets.length * ENTRY_BYTES + (long) mapped * CHAIN_ENTRY_BYTES;
+    }
+
+    @Override
+    public String getName() { return "hashed (" + buckets.length + " buckets)"; }
+
+    @Override
+    public void clear() {
+        Arrays.fill(buckets, NOT_MAPPED);
+        freeList = NOT_MAPPED;
+        used = 0;
+        mapped = 0;
+        lookups = 0;
+        memoryAccesses = 0;
+    }
+}
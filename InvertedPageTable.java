@@ -0,0 +1,120 @@
+import java.util.Arrays;
+
+/**
+ * An inverted page table, as on PowerPC and UltraSPARC: one entry per physical
+ * frame instead of one per virtual page, so its size depends only on physical
+ * memory. A hash anchor table maps a virtual page to the first frame of its
+ * chain. A walk reads the anchor and then the frame entries along the chain.
+ */
+public class InvertedPageTable implements PageTable {
+
+    // Bytes per frame entry: VPN and chain pointer; anchors are 4-byte frame indices
+    private static final int FRAME_ENTRY_BYTES = 2 * ENTRY_BYTES;
+    private static final int ANCHOR_BYTES = 4;
+
+    private final int[] anchors;
+    private final long[] vpns;   // virtual page held by each frame
+    private final int[] next;    // next frame in the same hash chain
+    private final boolean[] used;
+    private int mapped;
+    private long lookups;
+    private long memoryAccesses;
+
+    /**
+     * Creates an empty inverted page table.
+     * 
+     * @param frameCount Number of physical frames
+     */
+    public InvertedPageTable(int frameCount) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        this.anchors = new int[Math.max(2, Integer.highestOneBit(frameCount - 1 | 1) << 1)];
+        this.vpns = new long[frameCount];
+        this.next = new int[frameCount];
+        this.used = new boolean[frameCount];
+        clear();
+    }
+
+    @Override
+    public int lookup(long vpn) {
+        lookups++;
+        memoryAccesses++;
+        for (int frame = anchors[anchor(vpn)]; frame != NOT_MAPPED; frame = next[frame]) {
+            memoryAccesses++;
+            if (vpns[frame] == vpn) {
+                return frame;
+            }
+        }
+        return NOT_MAPPED;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Whatever page the frame held before is unmapped.
+     */
+    @Override
+    public void map(long vpn, int frame) {
+        if (frame < 0 || frame >= vpns.length) {
+            throw new IllegalArgumentException("Frame " + frame + " out of " + vpns.length);
+        }
+        unmap(vpn);
+        if (used[frame]) {
+            unmap(vpns[frame]);
+        }
+        int a = anchor(vpn);
+        vpns[frame] = vpn;
+        next[frame] = anchors[a];
+        anchors[a] = frame;
+        used[frame] = true;
+        mapped++;
+    }
+
+    @Override
+    public void unmap(long vpn) {
+        int a = anchor(vpn);
+        int previous = NOT_MAPPED;
+        for (int frame = anchors[a]; frame != NOT_MAPPED; previous = frame, frame = next[frame]) {
+            if (vpns[frame] == vpn) {
+                if (previous == NOT_MAPPED) {
+                    anchors[a] = next[frame];
+                } else {
+                    next[previous] = next[frame];
+                }
+                used[frame] = false;
+                mapped--;
+                return;
+            }
+        }
+    }
+
+    private int anchor(long vpn) {
+        return PageTable.hash(vpn) & (anchors.length - 1);
+    }
+
+    @Override
+    public int getMappedCount() { return mapped; }
+
+    @Override
+    public long getLookups() { return lookups; }
+
+    @Override
+    public long getMemoryAccesses() { return memoryAccesses; }
+
+    @Override
+    public long getFootprintBytes() {
+        return (long) vpns.length * FRAME_ENTRY_BYTES + (long) anchors.length * ANCHOR_BYTES;
+    }
+
+    @Override
+    public String getName() { return "inverted (" + vpns.length + " frames)"; }
+
+    @Override
+    public void clear() {
+        Arrays.fill(anchors, NOT_MAPPED);
+        Arrays.fill(used, false);
+        mapped = 0;
+        lookups = 0;
+        memoryAccesses = 0;
+    }
+}
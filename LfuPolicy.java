@@ -0,0 +1,166 @@
+/**
+ * LFU page replacement with LRU tie-breaking, using the constant-time
+ * frequency-bucket structure of Shah, Mitra and Matani.
+ * <p>
+ * Buckets form a list in increasing frequency order and each bucket holds the
+ * resident pages with that reference count, oldest first. A hit moves the page
+ * into the next bucket (creating it if the next frequency is missing) and a
+ * fault evicts the oldest page of the lowest bucket. Every operation is O(1),
+ * with no heap and no scan.
+ */
+public class LfuPolicy implements ReplacementPolicy {
+    private static final int NIL = SlotLists.NIL;
+
+    private final int frameCount;
+    private final int[] slotPage;
+    private final int[] slotBucket;
+    private final PageIndex index;
+    private final SlotLists members; // one list per bucket, head = least recently used
+
+    // Buckets, linked in increasing frequency order
+    private final long[] bucketFrequency;
+    private final int[] bucketPrev;
+    private final int[] bucketNext;
+    private final int[] freeBuckets;
+    private int freeBucketCount;
+    private int lowest;
+
+    private int used;
+    private int lastEvicted;
+    private boolean hasEvicted; // whether lastEvicted holds a page
+
+    /**
+     * Creates an LFU policy.
+     * 
+     * @param frameCount The number of frames available in memory
+     */
+    public LfuPolicy(int frameCount) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        this.frameCount = frameCount;
+        this.slotPage = new int[frameCount];
+        this.slotBucket = new int[frameCount];
+        this.index = new PageIndex(frameCount);
+        // Non-empty buckets never outnumber pages; one more covers a bucket
+        // created before the old one is released
+        int buckets = frameCount + 1;
+        this.members = new SlotLists(frameCount, buckets);
+        this.bucketFrequency = new long[buckets];
+        this.bucketPrev = new int[buckets];
+        this.bucketNext = new int[buckets];
+        this.freeBuckets = new int[buckets];
+        reset();
+    }
+
+    @Override
+    public boolean access(int page) {
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        int slot = index.get(page);
+        if (slot != PageIndex.ABSENT) {
+            int bucket = slotBucket[slot];
+            int next = bucketNext[bucket];
+            if (next == NIL || bucketFrequency[next] != bucketFrequency[bucket] + 1) {
+                next = insertBucketAfter(bucket, bucketFrequency[bucket] + 1);
+            }
+            members.remove(bucket, slot);
+            members.addLast(next, slot);
+            slotBucket[slot] = next;
+            releaseIfEmpty(bucket);
+            return true;
+        }
+
+        if (used < frameCount) {
+            slot = used++;
+        } else {
+            int bucket = lowest;
+            slot = members.head(bucket);
+            members.remove(bucket, slot);
+            releaseIfEmpty(bucket);
+            lastEvicted = slotPage[slot];
+            hasEvicted = true;
+            index.remove(lastEvicted);
+        }
+
+        int first = lowest;
+        if (first == NIL || bucketFrequency[first] != 1) {
+            first = insertBucketAfter(NIL, 1);
+        }
+        slotPage[slot] = page;
+        slotBucket[slot] = first;
+        members.addLast(first, slot);
+        index.put(page, slot);
+        return false;
+    }
+
+    /**
+     * Links a new bucket after the given one (or at the front when prev is NIL).
+     */
+    private int insertBucketAfter(int prev, long frequency) {
+        int bucket = freeBuckets[--freeBucketCount];
+        int next = prev == NIL ? lowest : bucketNext[prev];
+        bucketFrequency[bucket] = frequency;
+        bucketPrev[bucket] = prev;
+        bucketNext[bucket] = next;
+        if (prev == NIL) {
+            lowest = bucket;
+        } else {
+            bucketNext[prev] = bucket;
+        }
+        if (next != NIL) {
+            bucketPrev[next] = bucket;
+        }
+        return bucket;
+    }
+
+    private void releaseIfEmpty(int bucket) {
+        if (members.size(bucket) > 0) {
+            return;
+        }
+        int prev = bucketPrev[bucket];
+        int next = bucketNext[bucket];
+        if (prev == NIL) {
+            lowest = next;
+        } else {
+            bucketNext[prev] = next;
+        }
+        if (next != NIL) {
+            bucketPrev[next] = prev;
+        }
+        freeBuckets[freeBucketCount++] = bucket;
+    }
+
+    /**
+     * Gets the reference count of a resident page.
+     * 
+     * @return The count since the page was loaded, or 0 if it is not resident
+     */
+    public long getFrequency(int page) {
+        int slot = index.get(page);
+        return slot == PageIndex.ABSENT ? 0 : bucketFrequency[slotBucket[slot]];
+    }
+
+    @Override
+    public int getLastEvicted() { return lastEvicted; }
+
+    @Override
+    public boolean hasEvicted() { return hasEvicted; }
+
+    @Override
+    public int getResidentCount() { return used; }
+
+    @Override
+    public void reset() {
+        index.clear();
+        members.clear();
+        freeBucketCount = freeBuckets.length;
+        for (int i = 0; i < freeBucketCount; i++) {
+            freeBuckets[i] = i;
+        }
+        lowest = NIL;
+        used = 0;
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+    }
+}
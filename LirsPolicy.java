@@ -0,0 +1,196 @@
+import java.util.Arrays;
+
+/**
+ * LIRS (Low Inter-reference Recency Set) page replacement, after Jiang and Zhang.
+ * <p>
+ * Pages with a short reuse distance are LIR and always resident. Every other
+ * page is HIR, and only a small share of the frames (1%, at least one) holds
+ * resident HIR pages. The LIRS stack S orders recently seen pages by recency
+ * and also keeps non-resident HIR pages as history. A HIR page referenced
+ * again while still in S has proven a short reuse distance and is promoted to
+ * LIR; the oldest LIR page is demoted in exchange. Loops larger than memory
+ * and one-off scans therefore stay in the small HIR share.
+ * <p>
+ * Non-resident history in S is bounded to twice the frame count, dropping the
+ * oldest entry first, so memory stays proportional to the frame count.
+ */
+public class LirsPolicy implements ReplacementPolicy {
+    private static final int STACK = 0;                 // in stack: head = bottom (oldest)
+    private static final int QUEUE = 0, GHOSTS = 1;     // in queues: head = oldest
+    private static final byte LIR = 0, HIR = 1, GHOST = 2;
+
+    private final int frameCount;
+    private final int lirCapacity;
+    private final int ghostCapacity;
+    private final int[] slotPage;
+    private final byte[] slotState;
+    private final boolean[] inStack;
+    private final int[] freeSlots;
+    private final PageIndex index;
+    private final SlotLists stack;  // the LIRS stack S
+    private final SlotLists queues; // resident HIR queue Q and non-resident history in S
+    private int freeCount;
+    private int lirCount;
+    private int lastEvicted;
+    private boolean hasEvicted; // whether lastEvicted holds a page
+
+    /**
+     * Creates a LIRS policy.
+     * 
+     * @param frameCount The number of frames available in memory
+     */
+    public LirsPolicy(int frameCount) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        this.frameCount = frameCount;
+        this.lirCapacity = frameCount - Math.max(1, frameCount / 100);
+        this.ghostCapacity = 2 * frameCount;
+        int slots = frameCount + ghostCapacity + 1;
+        this.slotPage = new int[slots];
+        this.slotState = new byte[slots];
+        this.inStack = new boolean[slots];
+        this.freeSlots = new int[slots];
+        this.index = new PageIndex(slots);
+        this.stack = new SlotLists(slots, 1);
+        this.queues = new SlotLists(slots, 2);
+        reset();
+    }
+
+    @Override
+    public boolean access(int page) {
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        int slot = index.get(page);
+        boolean hit = slot != PageIndex.ABSENT && slotState[slot] != GHOST;
+
+        if (!hit && getResidentCount() == frameCount) {
+            evictResidentHir();
+        }
+
+        if (slot == PageIndex.ABSENT) {
+            slot = freeSlots[--freeCount];
+            slotPage[slot] = page;
+            index.put(page, slot);
+            pushOnStack(slot);
+            if (lirCount < lirCapacity) {
+                // Warm-up: the first pages fill the LIR set directly
+                slotState[slot] = LIR;
+                lirCount++;
+            } else {
+                slotState[slot] = HIR;
+                queues.addLast(QUEUE, slot);
+            }
+        } else if (slotState[slot] == LIR) {
+            stack.moveToLast(STACK, slot);
+            prune();
+        } else if (inStack[slot]) {
+            // HIR page re-referenced while still in S: promote to LIR
+            queues.remove(slotState[slot] == GHOST ? GHOSTS : QUEUE, slot);
+            slotState[slot] = LIR;
+            lirCount++;
+            stack.moveToLast(STACK, slot);
+            prune();
+            if (lirCount > lirCapacity) {
+                demoteBottomLir();
+                prune();
+            }
+        } else {
+            // Resident HIR page outside S stays HIR
+            pushOnStack(slot);
+            queues.moveToLast(QUEUE, slot);
+        }
+
+        while (queues.size(GHOSTS) > ghostCapacity) {
+            int oldest = queues.head(GHOSTS);
+            queues.remove(GHOSTS, oldest);
+            stack.remove(STACK, oldest);
+            inStack[oldest] = false;
+            forget(oldest);
+        }
+        return hit;
+    }
+
+    /**
+     * Evicts the front of the resident HIR queue. The page stays in S as
+     * history if it is there, otherwise it is forgotten.
+     */
+    private void evictResidentHir() {
+        int victim = queues.head(QUEUE);
+        queues.remove(QUEUE, victim);
+        lastEvicted = slotPage[victim];
+        hasEvicted = true;
+        if (inStack[victim]) {
+            slotState[victim] = GHOST;
+            queues.addLast(GHOSTS, victim);
+        } else {
+            forget(victim);
+        }
+    }
+
+    /**
+     * Turns the LIR page at the bottom of S into a resident HIR page.
+     */
+    private void demoteBottomLir() {
+        int bottom = stack.head(STACK);
+        stack.remove(STACK, bottom);
+        inStack[bottom] = false;
+        slotState[bottom] = HIR;
+        lirCount--;
+        queues.addLast(QUEUE, bottom);
+    }
+
+    /**
+     * Removes HIR entries from the bottom of S until a LIR page is at the bottom.
+     */
+    private void prune() {
+        int bottom = stack.head(STACK);
+        while (bottom != SlotLists.NIL && slotState[bottom] != LIR) {
+            stack.remove(STACK, bottom);
+            inStack[bottom] = false;
+            if (slotState[bottom] == GHOST) {
+                queues.remove(GHOSTS, bottom);
+                forget(bottom);
+            }
+            bottom = stack.head(STACK);
+        }
+    }
+
+    private void pushOnStack(int slot) {
+        if (inStack[slot]) {
+            stack.moveToLast(STACK, slot);
+        } else {
+            stack.addLast(STACK, slot);
+            inStack[slot] = true;
+        }
+    }
+
+    private void forget(int slot) {
+        index.remove(slotPage[slot]);
+        freeSlots[freeCount++] = slot;
+    }
+
+    @Override
+    public int getLastEvicted() { return lastEvicted; }
+
+    @Override
+    public boolean hasEvicted() { return hasEvicted; }
+
+    @Override
+    public int getResidentCount() { return lirCount + queues.size(QUEUE); }
+
+    @Override
+    public void reset() {
+        index.clear();
+        stack.clear();
+        queues.clear();
+        Arrays.fill(inStack, false);
+        freeCount = freeSlots.length;
+        for (int i = 0; i < freeCount; i++) {
+            freeSlots[i] = freeCount - 1 - i;
+        }
+        lirCount = 0;
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+    }
+}
@@ -11,6 +11,7 @@ public class LockResource {
     private ProcessThread currentHolder; // For mutex
     private Queue<ProcessThread> waitingQueue;
     private int acquisitionCount;
+    private DeadlockDetector detector; // notified of wait-for graph changes, may be null
     
     /**
      * Creates a new lock resource.
@@ -40,12 +41,18 @@ public class LockResource {
             }
             thread.acquireLock(lockName);
             acquisitionCount++;
+            if (detector != null) {
+                detector.lockAcquired(this, thread);
+            }
             return true;
         } else {
             if (!waitingQueue.contains(thread)) {
                 waitingQueue.add(thread);
                 thread.setWaitingForLock(lockName);
                 thread.setState(ProcessThread.State.BLOCKED);
+                if (detector != null) {
+                    detector.threadWaiting(this, thread);
+                }
             }
             return false;
         }
@@ -63,6 +70,9 @@ public class LockResource {
         
         availablePermits++;
         thread.releaseLock(lockName);
+        if (detector != null) {
+            detector.lockReleased(this, thread);
+        }
         
         // Wake up next waiting thread
         if (!waitingQueue.isEmpty()) {
@@ -74,6 +84,11 @@ public class LockResource {
                 }
                 next.acquireLock(lockName);
                 next.setState(ProcessThread.State.READY);
+                if (detector != null) {
+                    detector.lockAcquired(this, next);
+                }
+            } else if (next != null && detector != null) {
+                detector.waitCancelled(next);
             }
         }
     }
@@ -93,6 +108,18 @@ public class LockResource {
                 thread.setState(ProcessThread.State.READY);
             }
         }
+        if (detector != null) {
+            detector.lockCleared(this);
+        }
+    }
+    
+    /**
+     * Attaches a deadlock detector that follows this lock's holders and waiters.
+     * 
+     * @param detector Detector to notify, or null to detach
+     */
+    public synchronized void setDeadlockDetector(DeadlockDetector detector) {
+        this.detector = detector;
     }
     
     /**
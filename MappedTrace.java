@@ -0,0 +1,150 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A read-only reference string backed by a memory-mapped binary file.
+ * The file holds one page number per reference as a fixed-width little-endian
+ * 32-bit integer. Pages are read straight from the mapping, so heap usage does
+ * not depend on the size of the trace.
+ */
+public class MappedTrace implements Closeable, ReferenceSource {
+
+    /** Size of one encoded reference in bytes. */
+    public static final int BYTES_PER_REFERENCE = 4;
+
+    // Each mapping must stay below 2 GB; keep it aligned to whole references
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_BYTES = 1L << CHUNK_SHIFT;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    /**
+     * Maps a trace file.
+     * 
+     * @param file Path of the binary trace
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public MappedTrace(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        long bytes = channel.size();
+        if (bytes % BYTES_PER_REFERENCE != 0) {
+            channel.close();
+            throw new IOException("Trace size is not a multiple of " + BYTES_PER_REFERENCE + " bytes: " + file);
+        }
+        this.size = bytes / BYTES_PER_REFERENCE;
+        this.chunks = new MappedByteBuffer[(int) ((bytes + CHUNK_BYTES - 1) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < chunks.length; i++) {
+            long offset = (long) i << CHUNK_SHIFT;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(CHUNK_BYTES, bytes - offset));
+            chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Writes a reference string in the mapped trace format.
+     * 
+     * @param file Destination path (replaced if it exists)
+     * @param pages The reference string
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, int[] pages) throws IOException {
+        write(file, Arrays.stream(pages).iterator());
+    }
+
+    /**
+     * Writes a reference stream in the mapped trace format.
+     * 
+     * @param file Destination path (replaced if it exists)
+     * @param references The page references, consumed until exhausted
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, PrimitiveIterator.OfInt references) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            while (references.hasNext()) {
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                buffer.putInt(references.nextInt());
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Gets the page referenced at a position.
+     * 
+     * @param index Position in the trace, 0 to size() - 1
+     */
+    public int get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Reference " + index + " out of " + size);
+        }
+        long byteOffset = index * BYTES_PER_REFERENCE;
+        return chunks[(int) (byteOffset >>> CHUNK_SHIFT)].getInt((int) (byteOffset & (CHUNK_BYTES - 1)));
+    }
+
+    /**
+     * Returns a sequential iterator over the trace. Each iterator keeps its own
+     * read position, so several can scan the same mapping concurrently.
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int chunk = -1;
+            private ByteBuffer current = ByteBuffer.allocate(0);
+            private long remaining = size;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                if (!current.hasRemaining()) {
+                    current = chunks[++chunk].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+                }
+                remaining--;
+                return current.getInt();
+            }
+        };
+    }
+
+    /**
+     * Gets the number of references in the trace.
+     */
+    public long size() { return size; }
+
+    @Override
+    public PrimitiveIterator.OfInt open() { return iterator(); }
+
+    @Override
+    public long length() { return size; }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
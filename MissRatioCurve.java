@@ -0,0 +1,75 @@
+/**
+ * Page fault counts for every frame count from 0 up to a maximum,
+ * as produced by a single stack-distance pass over a reference string.
+ */
+public class MissRatioCurve {
+    private final long references;
+    private final long[] faults; // faults[k] = faults with k frames
+
+    /**
+     * Creates a miss-ratio curve.
+     * 
+     * @param references Total number of references in the trace
+     * @param faults Fault count indexed by frame count, starting at 0 frames
+     */
+    public MissRatioCurve(long references, long[] faults) {
+        this.references = references;
+        this.faults = faults;
+    }
+
+    /**
+     * Gets the number of page faults with the given number of frames.
+     * Frame counts beyond the curve only incur cold misses, so they reuse the last entry.
+     */
+    public long getFaults(int frameCount) {
+        if (frameCount < 0) {
+            throw new IllegalArgumentException("Frame count must not be negative");
+        }
+        return faults[Math.min(frameCount, faults.length - 1)];
+    }
+
+    /**
+     * Gets the fraction of references that fault with the given number of frames.
+     */
+    public double getMissRatio(int frameCount) {
+        return references == 0 ? 0.0 : getFaults(frameCount) / (double) references;
+    }
+
+    /**
+     * Gets the fault counts for 1..maxFrames frames as an int array, matching
+     * what {@link DemandPaging#simulate(String, int[], int)} would return for each.
+     */
+    public int[] toFaultArray(int maxFrames) {
+        int[] result = new int[maxFrames];
+        for (int k = 1; k <= maxFrames; k++) {
+            result[k - 1] = (int) getFaults(k);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the mean absolute miss-ratio difference from another curve over 1..maxFrames frames.
+     */
+    public double meanAbsoluteError(MissRatioCurve other, int maxFrames) {
+        double sum = 0;
+        for (int k = 1; k <= maxFrames; k++) {
+            sum += Math.abs(getMissRatio(k) - other.getMissRatio(k));
+        }
+        return sum / maxFrames;
+    }
+
+    /**
+     * Computes the largest absolute miss-ratio difference from another curve over 1..maxFrames frames.
+     */
+    public double maxAbsoluteError(MissRatioCurve other, int maxFrames) {
+        double max = 0;
+        for (int k = 1; k <= maxFrames; k++) {
+            max = Math.max(max, Math.abs(getMissRatio(k) - other.getMissRatio(k)));
+        }
+        return max;
+    }
+
+    // Getters
+    public long getReferences() { return references; }
+    public int getMaxFrames() { return faults.length - 1; }
+}
@@ -2,6 +2,7 @@ import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
 
@@ -28,6 +29,7 @@ public class MultiThreadGUI extends JFrame {
     private JSpinner semaphorePermitsSpinner;
     private JComboBox<String> pageAlgoCombo;
     private JSpinner frameCountSpinner;
+    private JComboBox<String> pageTableCombo;
     private JComboBox<String> scenarioCombo;
     private JPanel threadConfigPanel;
     private List<ThreadConfigRow> threadRows;
@@ -65,6 +67,7 @@ public class MultiThreadGUI extends JFrame {
             panel.add(new JLabel("Thread-" + threadNum + ":"));
             panel.add(new JLabel("  Ref String:"));
             refStringField = new JTextField("1 2 3 4 5", 15);
+            refStringField.setToolTipText("Page numbers, or @path to stream a compact trace file");
             panel.add(refStringField);
             
             panel.add(new JLabel("  Priority:"));
@@ -107,7 +110,7 @@ public class MultiThreadGUI extends JFrame {
         mainPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
         
         // Top panel - Global settings
-        JPanel globalPanel = new JPanel(new GridLayout(6, 2, 10, 10));
+        JPanel globalPanel = new JPanel(new GridLayout(7, 2, 10, 10));
         globalPanel.setBorder(BorderFactory.createTitledBorder(
             BorderFactory.createLineBorder(Color.BLUE, 2), 
             "Global Simulation Settings",
@@ -155,7 +158,7 @@ public class MultiThreadGUI extends JFrame {
         
         // Page replacement algorithm
         globalPanel.add(new JLabel("Page Replacement Algorithm:"));
-        pageAlgoCombo = new JComboBox<>(new String[]{"FIFO", "LRU", "MRU", "OPT"});
+        pageAlgoCombo = new JComboBox<>(new String[]{"FIFO", "LRU", "MRU", "OPT", "CLOCK", "SECOND_CHANCE", "ENHANCED_SC", "LFU"});
         globalPanel.add(pageAlgoCombo);
         
         // Frame count
@@ -163,6 +166,12 @@ public class MultiThreadGUI extends JFrame {
         frameCountSpinner = new JSpinner(new SpinnerNumberModel(4, 2, 10, 1));
         globalPanel.add(frameCountSpinner);
         
+        // Page table layout
+        globalPanel.add(new JLabel("Page Table Layout:"));
+        pageTableCombo = new JComboBox<>(PageTable.TYPES);
+        pageTableCombo.setSelectedItem("RADIX-4");
+        globalPanel.add(pageTableCombo);
+        
         // Scenario loader
         globalPanel.add(new JLabel("Load Pre-configured Scenario:"));
         JPanel scenarioPanel = new JPanel(new BorderLayout());
@@ -501,10 +510,14 @@ public class MultiThreadGUI extends JFrame {
                 String refString = row.refStringField.getText().trim();
                 int priority = (int) row.prioritySpinner.getValue();
                 
-                String[] parts = refString.split("\\s+");
-                int[] pages = Arrays.stream(parts).mapToInt(Integer::parseInt).toArray();
-                
-                ProcessThread thread = new ProcessThread(pages, priority);
+                ProcessThread thread;
+                if (refString.startsWith("@")) {
+                    // Stream the references from a compact trace file
+                    thread = new ProcessThread(new TraceFile(Path.of(refString.substring(1).trim())), priority);
+                } else {
+                    // Pages may carry an r/w suffix, e.g. "1 2w 3r"
+                    thread = new ProcessThread(ReferenceString.parse(refString), priority);
+                }
                 threads.add(thread);
             }
             
@@ -520,6 +533,7 @@ public class MultiThreadGUI extends JFrame {
             int frames = (int) frameCountSpinner.getValue();
             String pageAlgo = (String) pageAlgoCombo.getSelectedItem();
             simulator = new MultiThreadSimulator(frames, pageAlgo);
+            simulator.setPageTable(PageTable.create((String) pageTableCombo.getSelectedItem(), frames));
             
             // Initialize simulation
             String syncType = (String) syncTypeCombo.getSelectedItem();
@@ -612,6 +626,9 @@ public class MultiThreadGUI extends JFrame {
                 logArea.append(t.getThreadName() + " ");
             }
             logArea.append("\n");
+            for (DeadlockAnalyzer.DeadlockedGroup group : simulator.getDeadlockedGroups()) {
+                logArea.append("  Circular wait: " + group + "\n");
+            }
             
             JOptionPane.showMessageDialog(this,
                 "Deadlock detected! Check the execution log for details.",
@@ -701,7 +718,7 @@ public class MultiThreadGUI extends JFrame {
                 thread.getThreadName(),
                 thread.getState(),
                 thread.getCurrentIndex(),
-                thread.getReferenceString().length,
+                thread.getReferenceLength(),
                 thread.getPageHits(),
                 thread.getPageFaults()
             ));
@@ -771,7 +788,17 @@ public class MultiThreadGUI extends JFrame {
         
         sb.append(String.format("Total Page Faults: %d\n", totalFaults));
         sb.append(String.format("Total Page Hits: %d\n", totalHits));
-        sb.append(String.format("Global Hit Ratio: %.2f%%\n\n", globalHitRatio));
+        sb.append(String.format("Global Hit Ratio: %.2f%%\n", globalHitRatio));
+        sb.append(String.format("Write-backs: %d\n", simulator.getWriteBacks()));
+        
+        Tlb tlb = simulator.getTlb();
+        sb.append(String.format("TLB: %d sets x %d ways, %s, %s\n", tlb.getSets(), tlb.getWays(),
+                tlb.getReplacement(), tlb.isFlushOnContextSwitch() ? "flushed on context switch" : "ASID-tagged"));
+        sb.append(String.format("TLB Hit Rate: %.2f%% (%d flushes)\n", tlb.getHitRate() * 100, tlb.getFlushes()));
+        PageTable pageTable = simulator.getPageTable();
+        sb.append(String.format("Page Table: %s, %.2f accesses per walk, %,d bytes\n",
+                pageTable.getName(), pageTable.getAverageWalkCost(), pageTable.getFootprintBytes()));
+        sb.append(String.format("Effective Access Time: %.1f ns\n\n", simulator.getEffectiveAccessTime()));
         
         // Per-thread statistics
         sb.append("PER-THREAD STATISTICS:\n");
@@ -779,7 +806,7 @@ public class MultiThreadGUI extends JFrame {
         
         for (ProcessThread thread : simulator.getThreads()) {
             sb.append(String.format("\n%s (Priority: %d):\n", thread.getThreadName(), thread.getPriority()));
-            sb.append(String.format("  Reference String Length: %d\n", thread.getReferenceString().length));
+            sb.append(String.format("  Reference String Length: %d\n", thread.getReferenceLength()));
             sb.append(String.format("  Page Faults: %d\n", thread.getPageFaults()));
             sb.append(String.format("  Page Hits: %d\n", thread.getPageHits()));
             
@@ -809,6 +836,9 @@ public class MultiThreadGUI extends JFrame {
                 sb.append(t.getThreadName()).append(" ");
             }
             sb.append("\n");
+            for (DeadlockAnalyzer.DeadlockedGroup group : simulator.getDeadlockedGroups()) {
+                sb.append("Circular wait: ").append(group).append("\n");
+            }
         }
         
         statsArea.setText(sb.toString());
@@ -8,13 +8,28 @@ public class MultiThreadSimulator {
     private ThreadScheduler scheduler;
     private List<LockResource> locks;
     
-    // Memory frames (shared across all threads)
-    private List<FrameEntry> frames;
+    // Memory frames (shared across all threads): slot i holds physical frame i
+    private FrameEntry[] slots;
     private int frameCount;
-    private Queue<FrameEntry> fifoQueue;
+    private PageIndex slotOf;  // resident page -> slot, for victims chosen by page
+    private SlotLists order;   // eviction order over slots (see ORDER)
+    
+    // The order list holds recency for LRU/MRU, the clock ring for FIFO and the
+    // second-chance variants, and load order otherwise
+    private static final int ORDER = 0;
     
     // Page replacement algorithm
     private String pageReplacementAlgorithm;
+    private LfuPolicy lfu; // eviction order for LFU, mirrors the resident pages
+    
+    // Address translation
+    private PageTable pageTable;
+    private Tlb tlb;
+    private AccessCost accessCost;
+    private int loadedFrames; // frames handed out so far, while memory fills
+    
+    // Dirty-page write-backs caused by evictions
+    private int writeBacks;
     
     // Synchronization settings
     private boolean useSynchronization;
@@ -27,11 +42,13 @@ public class MultiThreadSimulator {
     private int currentStep;
     
     // Timeline tracking
-    private List<TimelineEvent> timeline;
+    private Timeline timeline;
     
     // Deadlock detection
     private boolean deadlockDetected;
     private List<ProcessThread> deadlockedThreads;
+    private List<DeadlockAnalyzer.DeadlockedGroup> deadlockedGroups;
+    private DeadlockDetector deadlockDetector; // wait-for graph kept up to date by the locks
     
     /**
      * Represents a frame entry with thread ownership.
@@ -39,6 +56,9 @@ public class MultiThreadSimulator {
     public static class FrameEntry {
         public int pageNumber;
         public ProcessThread owner;
+        public boolean referenced; // reference bit for CLOCK / SECOND_CHANCE
+        public int frame;          // physical frame number
+        public boolean dirty;      // modified since loaded; costs a write-back on eviction
         
         public FrameEntry(int pageNumber, ProcessThread owner) {
             this.pageNumber = pageNumber;
@@ -47,12 +67,12 @@ public class MultiThreadSimulator {
     }
     
     /**
-     * Represents a timeline event.
+     * Represents a timeline event, materialized by {@link Timeline#get(int)}.
      */
     public static class TimelineEvent {
         public int step;
         public ProcessThread thread;
-        public String event; // "PAGE_ACCESS", "PAGE_FAULT", "PAGE_HIT", "CONTEXT_SWITCH", "LOCK_ACQUIRE", "LOCK_RELEASE", "BLOCKED"
+        public String event; // "PAGE_ACCESS", "PAGE_FAULT", "PAGE_HIT", "CONTEXT_SWITCH", "LOCK_ACQUIRE", "LOCK_RELEASE", "BLOCKED", "PAGE_EVICT", "WRITE_BACK"
         public String details;
         
         public TimelineEvent(int step, ProcessThread thread, String event, String details) {
@@ -69,17 +89,23 @@ public class MultiThreadSimulator {
     public MultiThreadSimulator(int frameCount, String pageReplacementAlgorithm) {
         this.frameCount = frameCount;
         this.pageReplacementAlgorithm = pageReplacementAlgorithm;
+        this.lfu = "LFU".equals(pageReplacementAlgorithm) ? new LfuPolicy(frameCount) : null;
+        this.pageTable = PageTable.create("RADIX-4", frameCount);
+        this.tlb = new Tlb(16, 4, Tlb.Replacement.LRU, true);
+        this.accessCost = AccessCost.DEFAULT;
         this.threads = new ArrayList<>();
-        this.frames = new ArrayList<>();
-        this.fifoQueue = new LinkedList<>();
+        this.slots = new FrameEntry[frameCount];
+        this.slotOf = new PageIndex(frameCount);
+        this.order = new SlotLists(frameCount, 1);
         this.locks = new ArrayList<>();
-        this.timeline = new ArrayList<>();
+        this.timeline = new Timeline();
         this.isRunning = false;
         this.isPaused = false;
         this.currentStep = 0;
         this.useSynchronization = false;
         this.synchronizationType = "NONE";
         this.deadlockDetected = false;
+        this.deadlockDetector = new DeadlockDetector();
     }
     
     /**
@@ -97,6 +123,11 @@ public class MultiThreadSimulator {
             thread.reset();
             scheduler.addThread(thread);
         }
+        pageTable.clear();
+        loadedFrames = 0;
+        writeBacks = 0;
+        tlb.reset();
+        scheduler.setContextSwitchListener(tlb::contextSwitch);
         
         // Initialize locks if synchronization is enabled
         locks.clear();
@@ -108,22 +139,31 @@ public class MultiThreadSimulator {
                 locks.add(new LockResource("Semaphore-1", semaphorePermits));
             }
         }
+        deadlockDetector.reset();
+        for (LockResource lock : locks) {
+            lock.setDeadlockDetector(deadlockDetector);
+        }
         
         // Clear frames
-        frames.clear();
-        fifoQueue.clear();
+        Arrays.fill(slots, null);
+        slotOf.clear();
+        order.clear();
+        if (lfu != null) {
+            lfu.reset();
+        }
         
         // Clear timeline
-        timeline.clear();
+        timeline.reset(this.threads, locks);
         
         // Calculate total steps
-        totalSteps = threads.stream().mapToInt(t -> t.getReferenceString().length).sum();
+        totalSteps = threads.stream().mapToInt(ProcessThread::getReferenceLength).sum();
         currentStep = 0;
         
         isRunning = true;
         isPaused = false;
         deadlockDetected = false;
         deadlockedThreads = null;
+        deadlockedGroups = null;
     }
     
     /**
@@ -136,14 +176,18 @@ public class MultiThreadSimulator {
             return false;
         }
         
-        // Check for deadlock
-        if (useSynchronization) {
-            List<ProcessThread> deadlock = DeadlockDetector.detectDeadlock(threads, locks);
-            if (!deadlock.isEmpty()) {
-                deadlockDetected = true;
-                deadlockedThreads = deadlock;
-                return false; // Stop simulation
-            }
+        // Check for deadlock (found by the detector when the last wait edge was added)
+        if (useSynchronization && deadlockDetector.isDeadlocked()) {
+            deadlockDetected = true;
+            deadlockedThreads = deadlockDetector.getDeadlock();
+            deadlockedGroups = deadlockDetector.getDeadlockedGroups();
+            return false; // Stop simulation
+        }
+        if (deadlockDetected) {
+            // Recovery broke the deadlock, e.g. by forcing its locks free
+            deadlockDetected = false;
+            deadlockedThreads = null;
+            deadlockedGroups = null;
         }
         
         // Schedule next thread
@@ -162,13 +206,14 @@ public class MultiThreadSimulator {
         // Try to acquire lock if synchronization is enabled
         if (useSynchronization && !locks.isEmpty()) {
             boolean lockAcquired = false;
-            for (LockResource lock : locks) {
+            for (int i = 0; i < locks.size(); i++) {
+                LockResource lock = locks.get(i);
                 if (!thread.getHeldLocks().contains(lock.getLockName())) {
                     lockAcquired = lock.tryAcquire(thread);
                     if (lockAcquired) {
-                        addTimelineEvent(thread, "LOCK_ACQUIRE", "Acquired " + lock.getLockName());
+                        addTimelineEvent(thread, Timeline.Type.LOCK_ACQUIRE, i);
                     } else {
-                        addTimelineEvent(thread, "BLOCKED", "Waiting for " + lock.getLockName());
+                        addTimelineEvent(thread, Timeline.Type.BLOCKED, i);
                         return true; // Thread blocked, continue with next
                     }
                     break;
@@ -178,6 +223,7 @@ public class MultiThreadSimulator {
         
         // Get next page reference
         int page = thread.getNextPage();
+        boolean write = thread.isNextWrite();
         if (page == -1) {
             // Thread completed
             thread.setState(ProcessThread.State.COMPLETED);
@@ -185,10 +231,10 @@ public class MultiThreadSimulator {
             // Release all held locks
             if (useSynchronization) {
                 for (String lockName : thread.getHeldLocks()) {
-                    for (LockResource lock : locks) {
-                        if (lock.getLockName().equals(lockName)) {
-                            lock.release(thread);
-                            addTimelineEvent(thread, "LOCK_RELEASE", "Released " + lockName);
+                    for (int i = 0; i < locks.size(); i++) {
+                        if (locks.get(i).getLockName().equals(lockName)) {
+                            locks.get(i).release(thread);
+                            addTimelineEvent(thread, Timeline.Type.LOCK_RELEASE, i);
                         }
                     }
                 }
@@ -198,42 +244,69 @@ public class MultiThreadSimulator {
             return true;
         }
         
-        // Check if page is in memory
-        boolean hit = frames.stream().anyMatch(f -> f.pageNumber == page);
+        // Check if page is in memory by walking the page table
+        int mappedFrame = pageTable.lookup(vpn(page));
+        boolean hit = mappedFrame != PageTable.NOT_MAPPED;
+        if (lfu != null) {
+            // Counts the reference and, on a fault, picks the victim in O(1)
+            lfu.access(page);
+        }
         
         if (hit) {
             // Page hit
             thread.recordPageHit();
-            addTimelineEvent(thread, "PAGE_HIT", "Page " + page + " found in memory");
+            addTimelineEvent(thread, Timeline.Type.PAGE_HIT, page);
             
-            // Update for LRU/MRU
+            // The page table yields the frame, which is also the entry's slot
+            FrameEntry entry = slots[mappedFrame];
             if ("LRU".equals(pageReplacementAlgorithm) || "MRU".equals(pageReplacementAlgorithm)) {
-                frames.removeIf(f -> f.pageNumber == page && f.owner == thread);
-                frames.add(new FrameEntry(page, thread));
+                order.moveToLast(ORDER, mappedFrame);
+            } else if (usesReferenceBits()) {
+                entry.referenced = true;
+            }
+            if (write) {
+                entry.dirty = true;
             }
         } else {
             // Page fault
             thread.recordPageFault();
-            addTimelineEvent(thread, "PAGE_FAULT", "Page " + page + " not in memory");
+            addTimelineEvent(thread, Timeline.Type.PAGE_FAULT, page);
             
-            if (frames.size() < frameCount) {
-                // Empty frame available
-                FrameEntry entry = new FrameEntry(page, thread);
-                frames.add(entry);
-                fifoQueue.add(entry);
+            FrameEntry entry;
+            if (loadedFrames < frameCount) {
+                // Empty frame available; entries are only allocated while memory fills
+                entry = new FrameEntry(page, thread);
+                entry.frame = loadedFrames++;
+                slots[entry.frame] = entry;
+                order.addLast(ORDER, entry.frame);
             } else {
-                // Need to evict a page
-                FrameEntry evicted = selectPageToEvict(thread, page);
-                frames.remove(evicted);
-                
-                FrameEntry newEntry = new FrameEntry(page, thread);
-                frames.add(newEntry);
-                fifoQueue.add(newEntry);
+                // Need to evict a page; its entry is reused for the new one
+                entry = slots[selectSlotToEvict(thread, page)];
+                int evictedPage = entry.pageNumber;
+                ProcessThread evictedOwner = entry.owner;
+                boolean evictedDirty = entry.dirty;
+                pageTable.unmap(vpn(evictedPage));
+                tlb.invalidate(evictedPage);
+                slotOf.remove(evictedPage);
+                order.moveToLast(ORDER, entry.frame);
+                entry.pageNumber = page;
+                entry.owner = thread;
                 
-                addTimelineEvent(thread, "PAGE_EVICT", "Evicted page " + evicted.pageNumber + " from " + evicted.owner.getThreadName());
+                timeline.record(currentStep, thread, Timeline.Type.PAGE_EVICT, evictedPage, evictedOwner);
+                if (evictedDirty) {
+                    writeBacks++;
+                    addTimelineEvent(thread, Timeline.Type.WRITE_BACK, evictedPage);
+                }
             }
+            entry.referenced = referencedOnLoad();
+            entry.dirty = write;
+            pageTable.map(vpn(page), entry.frame);
+            slotOf.put(page, entry.frame);
         }
         
+        // Translate through the TLB; entries are tagged with the thread id
+        tlb.access(thread.getThreadId(), page);
+        
         // Advance thread
         thread.advanceIndex();
         scheduler.incrementQuantum();
@@ -242,10 +315,10 @@ public class MultiThreadSimulator {
         // Release lock after page access (if using synchronization)
         if (useSynchronization && !locks.isEmpty() && Math.random() > 0.5) {
             for (String lockName : thread.getHeldLocks()) {
-                for (LockResource lock : locks) {
-                    if (lock.getLockName().equals(lockName)) {
-                        lock.release(thread);
-                        addTimelineEvent(thread, "LOCK_RELEASE", "Released " + lockName);
+                for (int i = 0; i < locks.size(); i++) {
+                    if (locks.get(i).getLockName().equals(lockName)) {
+                        locks.get(i).release(thread);
+                        addTimelineEvent(thread, Timeline.Type.LOCK_RELEASE, i);
                         break;
                     }
                 }
@@ -257,51 +330,123 @@ public class MultiThreadSimulator {
     }
     
     /**
-     * Selects a page to evict based on the replacement algorithm.
+     * Selects the slot to evict based on the replacement algorithm.
      */
-    private FrameEntry selectPageToEvict(ProcessThread currentThread, int newPage) {
+    private int selectSlotToEvict(ProcessThread currentThread, int newPage) {
         switch (pageReplacementAlgorithm) {
-            case "FIFO":
-                return fifoQueue.poll();
-                
             case "LRU":
-                return frames.get(0); // Least recently used is at the front
+                return order.head(ORDER); // Least recently used is at the front
                 
             case "MRU":
-                return frames.get(frames.size() - 1); // Most recently used is at the end
+                return order.tail(ORDER); // Most recently used is at the end
                 
             case "OPT":
                 return findOptimalEviction(currentThread, newPage);
                 
+            case "CLOCK":
+            case "SECOND_CHANCE":
+                return findSecondChanceEviction();
+                
+            case "ENHANCED_SC":
+                return findEnhancedSecondChanceEviction();
+                
+            case "LFU":
+                return slotOf.get(lfu.getLastEvicted());
+                
+            case "FIFO":
             default:
-                return frames.get(0);
+                return order.head(ORDER); // Oldest load is at the front
         }
     }
     
     /**
-     * Finds optimal page to evict (used farthest in future).
+     * Sweeps the ring like a clock hand: referenced frames have their bit
+     * cleared and move to the back, the first unreferenced frame is evicted.
      */
-    private FrameEntry findOptimalEviction(ProcessThread currentThread, int newPage) {
-        int farthestUse = -1;
-        FrameEntry toEvict = frames.get(0);
-        
-        for (FrameEntry entry : frames) {
-            int nextUse = Integer.MAX_VALUE;
-            
-            // Check when this page will be used next by its owner
-            ProcessThread owner = entry.owner;
-            int[] refString = owner.getReferenceString();
-            
-            for (int i = owner.getCurrentIndex(); i < refString.length; i++) {
-                if (refString[i] == entry.pageNumber) {
-                    nextUse = i;
-                    break;
+    private int findSecondChanceEviction() {
+        while (true) {
+            int slot = order.head(ORDER);
+            if (!slots[slot].referenced) {
+                return slot;
+            }
+            slots[slot].referenced = false;
+            order.moveToLast(ORDER, slot);
+        }
+    }
+    
+    /**
+     * Sweeps the ring for the lowest NRU class: first an unreferenced clean
+     * frame without touching any bits, then an unreferenced dirty frame while
+     * clearing reference bits, repeating until one is found.
+     */
+    private int findEnhancedSecondChanceEviction() {
+        while (true) {
+            for (int i = frameCount; i > 0; i--) {
+                int slot = order.head(ORDER);
+                if (!slots[slot].referenced && !slots[slot].dirty) {
+                    return slot;
                 }
+                order.moveToLast(ORDER, slot);
             }
-            
-            if (nextUse > farthestUse) {
-                farthestUse = nextUse;
-                toEvict = entry;
+            for (int i = frameCount; i > 0; i--) {
+                int slot = order.head(ORDER);
+                if (!slots[slot].referenced && slots[slot].dirty) {
+                    return slot;
+                }
+                slots[slot].referenced = false;
+                order.moveToLast(ORDER, slot);
+            }
+        }
+    }
+    
+    /**
+     * Converts a page number to the page table's unsigned VPN, so negative pages
+     * land in the upper half of a 32-bit address space instead of out of range.
+     */
+    private static long vpn(int page) {
+        return page & 0xFFFFFFFFL;
+    }
+    
+    /**
+     * Checks if the current algorithm keeps per-frame reference bits.
+     */
+    private boolean usesReferenceBits() {
+        return "CLOCK".equals(pageReplacementAlgorithm) || "SECOND_CHANCE".equals(pageReplacementAlgorithm)
+                || "ENHANCED_SC".equals(pageReplacementAlgorithm);
+    }
+    
+    /**
+     * Checks if newly loaded pages start with their reference bit set.
+     */
+    private boolean referencedOnLoad() {
+        return "CLOCK".equals(pageReplacementAlgorithm) || "ENHANCED_SC".equals(pageReplacementAlgorithm);
+    }
+    
+    /**
+     * Finds optimal page to evict (used farthest in future). Scans each owner's
+     * remaining references once, so unlike the other algorithms this is not O(1).
+     */
+    private int findOptimalEviction(ProcessThread currentThread, int newPage) {
+        // Group resident pages by owner, each mapped to its slot
+        Map<ProcessThread, PageIndex> slotsByOwner = new HashMap<>();
+        for (int slot = order.head(ORDER); slot != SlotLists.NIL; slot = order.next(slot)) {
+            FrameEntry entry = slots[slot];
+            slotsByOwner.computeIfAbsent(entry.owner, owner -> new PageIndex(16)).put(entry.pageNumber, slot);
+        }
+        
+        // Check when each page will be used next by its owner
+        int[] nextUse = new int[slots.length];
+        Arrays.fill(nextUse, Integer.MAX_VALUE);
+        for (Map.Entry<ProcessThread, PageIndex> owned : slotsByOwner.entrySet()) {
+            owned.getKey().findNextUses(owned.getValue(), nextUse);
+        }
+        
+        int farthestUse = -1;
+        int toEvict = order.head(ORDER);
+        for (int slot = order.head(ORDER); slot != SlotLists.NIL; slot = order.next(slot)) {
+            if (nextUse[slot] > farthestUse) {
+                farthestUse = nextUse[slot];
+                toEvict = slot;
             }
         }
         
@@ -311,15 +456,15 @@ public class MultiThreadSimulator {
     /**
      * Adds a timeline event.
      */
-    private void addTimelineEvent(ProcessThread thread, String event, String details) {
-        timeline.add(new TimelineEvent(currentStep, thread, event, details));
+    private void addTimelineEvent(ProcessThread thread, Timeline.Type type, int argument) {
+        timeline.record(currentStep, thread, type, argument, null);
     }
     
     // Getters
     public List<ProcessThread> getThreads() { return threads; }
-    public List<FrameEntry> getFrames() { return new ArrayList<>(frames); }
+    public List<FrameEntry> getFrames() { return new ArrayList<>(Arrays.asList(slots).subList(0, loadedFrames)); }
     public List<LockResource> getLocks() { return locks; }
-    public List<TimelineEvent> getTimeline() { return timeline; }
+    public Timeline getTimeline() { return timeline; }
     public boolean isRunning() { return isRunning; }
     public boolean isPaused() { return isPaused; }
     public void setPaused(boolean paused) { this.isPaused = paused; }
@@ -327,5 +472,30 @@ public class MultiThreadSimulator {
     public int getTotalSteps() { return totalSteps; }
     public boolean isDeadlockDetected() { return deadlockDetected; }
     public List<ProcessThread> getDeadlockedThreads() { return deadlockedThreads; }
+    public List<DeadlockAnalyzer.DeadlockedGroup> getDeadlockedGroups() { return deadlockedGroups; }
     public ThreadScheduler getScheduler() { return scheduler; }
+    public Tlb getTlb() { return tlb; }
+    public PageTable getPageTable() { return pageTable; }
+    public int getWriteBacks() { return writeBacks; }
+    public AccessCost getAccessCost() { return accessCost; }
+    
+    /**
+     * Replaces the TLB; takes effect at the next {@link #initialize}.
+     */
+    public void setTlb(Tlb tlb) { this.tlb = tlb; }
+    
+    /**
+     * Replaces the page table layout; takes effect at the next {@link #initialize}.
+     */
+    public void setPageTable(PageTable pageTable) { this.pageTable = pageTable; }
+    public void setAccessCost(AccessCost accessCost) { this.accessCost = accessCost; }
+    
+    /**
+     * Gets the effective memory access time of the run so far, in nanoseconds.
+     */
+    public double getEffectiveAccessTime() {
+        long faults = threads.stream().mapToLong(ProcessThread::getPageFaults).sum();
+        return accessCost.effectiveAccessTime(tlb.getHits(), tlb.getMisses(), faults,
+                pageTable.getAverageWalkCost());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * OPT's next-use table for a mapped trace, kept in a memory-mapped file.
+ * <p>
+ * Entry i is the position of the next reference to the page referenced at i,
+ * or {@link #NEVER}. The table is built by one backward pass over the trace;
+ * only a last-seen position per distinct page is kept on the heap. Once built
+ * it is only read, so OPT runs for several frame counts can share one table
+ * from different threads.
+ */
+public class NextUseTable implements Closeable {
+
+    /** Next-use position of a page that is not referenced again. */
+    public static final long NEVER = Long.MAX_VALUE;
+
+    // Each mapping must stay below 2 GB: 2^27 entries of 8 bytes
+    private static final int CHUNK_SHIFT = 27;
+    private static final long CHUNK = 1L << CHUNK_SHIFT;
+
+    private final FileChannel channel;
+    private final LongBuffer[] chunks;
+    private final long size;
+
+    private NextUseTable(FileChannel channel, LongBuffer[] chunks, long size) {
+        this.channel = channel;
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Builds the table for a trace.
+     *
+     * @param trace The reference string
+     * @param file Scratch file for the table (replaced if it exists); the caller deletes it
+     * @return The table, mapped until closed
+     * @throws IOException if the scratch file cannot be written or mapped
+     */
+    public static NextUseTable build(MappedTrace trace, Path file) throws IOException {
+        long n = trace.size();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            LongBuffer[] chunks = new LongBuffer[(int) ((n + CHUNK - 1) >>> CHUNK_SHIFT)];
+            for (int c = 0; c < chunks.length; c++) {
+                long first = (long) c << CHUNK_SHIFT;
+                chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, first * Long.BYTES,
+                        Math.min(CHUNK, n - first) * Long.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            }
+
+            // Backward pass: remember where each page is referenced next
+            PageIndex pageIds = new PageIndex(1024);
+            long[] lastSeen = new long[1024];
+            for (long i = n - 1; i >= 0; i--) {
+                int page = trace.get(i);
+                int id = pageIds.get(page);
+                long next;
+                if (id == PageIndex.ABSENT) {
+                    id = pageIds.size();
+                    pageIds.put(page, id);
+                    if (id == lastSeen.length) {
+                        lastSeen = Arrays.copyOf(lastSeen, id * 2);
+                    }
+                    next = NEVER;
+                } else {
+                    next = lastSeen[id];
+                }
+                lastSeen[id] = i;
+                chunks[(int) (i >>> CHUNK_SHIFT)].put((int) (i & (CHUNK - 1)), next);
+            }
+            return new NextUseTable(channel, chunks, n);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the position of the next reference to the page referenced at a position.
+     *
+     * @param index Position in the trace, 0 to size() - 1
+     * @return The next position, or {@link #NEVER}
+     */
+    public long get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & (CHUNK - 1)));
+    }
+
+    /**
+     * Gets the number of entries, equal to the length of the trace.
+     */
+    public long size() { return size; }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
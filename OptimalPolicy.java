@@ -0,0 +1,164 @@
+/**
+ * Belady's optimal (OPT) page replacement driven by precomputed next-use positions.
+ * Resident pages sit in an indexed max-heap keyed by their next reference, so
+ * each access costs O(log frames) instead of a rescan of the remaining trace.
+ */
+public class OptimalPolicy implements ReplacementPolicy {
+
+    /** Next-use position of a page that is never referenced again. */
+    public static final int NEVER = Integer.MAX_VALUE;
+
+    private final int frameCount;
+    private final int[] nextUse;
+    private final int[] slotPage;
+    private final long[] key;     // next-use position per slot
+    private final int[] heap;     // slots ordered as a max-heap on key
+    private final int[] heapPos;  // position of each slot inside heap
+    private final PageIndex index;
+    private int used;
+    private int cursor;
+    private int lastEvicted;
+    private boolean hasEvicted; // whether lastEvicted holds a page
+
+    /**
+     * Creates an OPT policy for a known reference string.
+     * 
+     * @param frameCount The number of frames available in memory
+     * @param nextUse Next-use table from {@link #computeNextUse(int[])}, or null when
+     *                callers supply positions through {@link #access(int, long)}
+     */
+    public OptimalPolicy(int frameCount, int[] nextUse) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        this.frameCount = frameCount;
+        this.nextUse = nextUse;
+        this.slotPage = new int[frameCount];
+        this.key = new long[frameCount];
+        this.heap = new int[frameCount];
+        this.heapPos = new int[frameCount];
+        this.index = new PageIndex(frameCount);
+        this.lastEvicted = NO_PAGE;
+    }
+
+    /**
+     * Computes, for every position, the position of the next reference to the same page.
+     * Runs as a single backward pass over the reference string.
+     * 
+     * @param pages The reference string
+     * @return Next-use positions, NEVER where the page is not referenced again
+     */
+    public static int[] computeNextUse(int[] pages) {
+        int[] next = new int[pages.length];
+        PageIndex lastSeen = new PageIndex(64);
+        for (int i = pages.length - 1; i >= 0; i--) {
+            int seen = lastSeen.get(pages[i]);
+            next[i] = seen == PageIndex.ABSENT ? NEVER : seen;
+            lastSeen.put(pages[i], i);
+        }
+        return next;
+    }
+
+    /**
+     * Processes the next reference of the string given at construction.
+     */
+    @Override
+    public boolean access(int page) {
+        return access(page, nextUse[cursor++]);
+    }
+
+    /**
+     * Processes a reference whose next-use position is supplied by the caller.
+     * 
+     * @param page The referenced page number
+     * @param next Position of the next reference to this page (NEVER if none)
+     * @return true on a page hit, false on a page fault
+     */
+    public boolean access(int page, long next) {
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        int slot = index.get(page);
+        if (slot != PageIndex.ABSENT) {
+            // The key can only move further into the future
+            key[slot] = next;
+            siftUp(heapPos[slot]);
+            return true;
+        }
+
+        if (used < frameCount) {
+            slot = used;
+            heap[used] = slot;
+            heapPos[slot] = used;
+            used++;
+            slotPage[slot] = page;
+            key[slot] = next;
+            siftUp(heapPos[slot]);
+        } else {
+            // Farthest next use is at the root
+            slot = heap[0];
+            lastEvicted = slotPage[slot];
+            hasEvicted = true;
+            index.remove(lastEvicted);
+            slotPage[slot] = page;
+            key[slot] = next;
+            siftDown(0);
+        }
+        index.put(page, slot);
+        return false;
+    }
+
+    @Override
+    public int getLastEvicted() { return lastEvicted; }
+
+    @Override
+    public boolean hasEvicted() { return hasEvicted; }
+
+    @Override
+    public int getResidentCount() { return used; }
+
+    @Override
+    public void reset() {
+        index.clear();
+        used = 0;
+        cursor = 0;
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+    }
+
+    private void siftUp(int pos) {
+        int slot = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (key[heap[parent]] >= key[slot]) {
+                break;
+            }
+            place(heap[parent], pos);
+            pos = parent;
+        }
+        place(slot, pos);
+    }
+
+    private void siftDown(int pos) {
+        int slot = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= used) {
+                break;
+            }
+            if (child + 1 < used && key[heap[child + 1]] > key[heap[child]]) {
+                child++;
+            }
+            if (key[heap[child]] <= key[slot]) {
+                break;
+            }
+            place(heap[child], pos);
+            pos = child;
+        }
+        place(slot, pos);
+    }
+
+    private void place(int slot, int pos) {
+        heap[pos] = slot;
+        heapPos[slot] = pos;
+    }
+}
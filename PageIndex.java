@@ -0,0 +1,155 @@
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash index from page number to an int value (usually a frame slot).
+ * Keys and values live in primitive arrays, so lookups and updates never box.
+ */
+public class PageIndex {
+
+    /** Value returned by {@link #get(int)} when the page is not indexed. */
+    public static final int ABSENT = -1;
+
+    private int[] keys;
+    private int[] values; // ABSENT marks an empty bucket
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an index sized for the expected number of entries.
+     * 
+     * @param expectedSize Number of entries the index should hold without growing
+     */
+    public PageIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Looks up the value stored for a page.
+     * 
+     * @param page The page number
+     * @return The stored value, or ABSENT if the page is not indexed
+     */
+    public int get(int page) {
+        int i = bucket(page);
+        while (values[i] != ABSENT) {
+            if (keys[i] == page) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Checks if a page is indexed.
+     */
+    public boolean contains(int page) {
+        return get(page) != ABSENT;
+    }
+
+    /**
+     * Stores a value for a page, replacing any previous value.
+     * 
+     * @param page The page number
+     * @param value A non-negative value
+     */
+    public void put(int page, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must be non-negative: " + value);
+        }
+        int i = bucket(page);
+        while (values[i] != ABSENT) {
+            if (keys[i] == page) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = page;
+        values[i] = value;
+        if (++size > (mask + 1) >> 1) {
+            grow();
+        }
+    }
+
+    /**
+     * Removes a page from the index.
+     * 
+     * @param page The page number
+     * @return The removed value, or ABSENT if the page was not indexed
+     */
+    public int remove(int page) {
+        int i = bucket(page);
+        while (values[i] != ABSENT) {
+            if (keys[i] == page) {
+                int removed = values[i];
+                shiftBack(i);
+                size--;
+                return removed;
+            }
+            i = (i + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Removes all entries, keeping the allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill(values, ABSENT);
+        size = 0;
+    }
+
+    public int size() { return size; }
+
+    /**
+     * Closes the gap left at a removed bucket by moving later entries of the
+     * same probe run back, so no tombstones are needed.
+     */
+    private void shiftBack(int gap) {
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == ABSENT) {
+                break;
+            }
+            int home = bucket(keys[i]);
+            // Move the entry if its home bucket is not cyclically in (gap, i]
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = ABSENT;
+    }
+
+    private int bucket(int page) {
+        int h = page * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, ABSENT);
+        mask = capacity - 1;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                int j = bucket(oldKeys[i]);
+                while (values[j] != ABSENT) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Translates virtual page numbers to physical frames.
+ * <p>
+ * Implementations count the page-table memory touched by each lookup (the
+ * walk cost) and report their own size as the page-table memory a real kernel
+ * would allocate, so layouts can be compared on translation cost and overhead.
+ * Virtual page numbers are 64-bit and unsigned; callers holding 32-bit page
+ * numbers pass them zero-extended ({@code page & 0xFFFFFFFFL}).
+ */
+public interface PageTable {
+
+    /** Returned by {@link #lookup(long)} for pages that are not mapped. */
+    int NOT_MAPPED = -1;
+
+    /** Size of one page-table entry or pointer in bytes, as on 64-bit hardware. */
+    int ENTRY_BYTES = 8;
+
+    /** Layouts accepted by {@link #create(String, int)}. */
+    String[] TYPES = {"RADIX-2", "RADIX-3", "RADIX-4", "HASHED", "INVERTED"};
+
+    /**
+     * Walks the table for a virtual page.
+     * 
+     * @param vpn Virtual page number
+     * @return The frame holding the page, or NOT_MAPPED
+     */
+    int lookup(long vpn);
+
+    /**
+     * Maps a virtual page to a frame, replacing any previous mapping of that page.
+     * 
+     * @param vpn Virtual page number
+     * @param frame Physical frame number (non-negative)
+     */
+    void map(long vpn, int frame);
+
+    /**
+     * Removes the mapping of a virtual page, if any.
+     */
+    void unmap(long vpn);
+
+    /**
+     * Gets the number of mapped pages.
+     */
+    int getMappedCount();
+
+    /**
+     * Gets the number of lookups performed.
+     */
+    long getLookups();
+
+    /**
+     * Gets the total page-table memory accesses made by lookups.
+     */
+    long getMemoryAccesses();
+
+    /**
+     * Gets the memory the table occupies, in bytes.
+     */
+    long getFootprintBytes();
+
+    /**
+     * Gets a short description of the layout.
+     */
+    String getName();
+
+    /**
+     * Removes all mappings and clears the statistics.
+     */
+    void clear();
+
+    /**
+     * Gets the mean number of memory accesses per lookup.
+     */
+    default double getAverageWalkCost() {
+        return getLookups() == 0 ? 0 : (double) getMemoryAccesses() / getLookups();
+    }
+
+    /**
+     * Creates a page table by layout name.
+     * 
+     * @param type One of {@link #TYPES}
+     * @param frameCount Number of physical frames (sizes the hashed and inverted tables)
+     * @return An empty page table
+     */
+    static PageTable create(String type, int frameCount) {
+        return switch (type) {
+            case "RADIX-2" -> new RadixPageTable(2, RadixPageTable.DEFAULT_VPN_BITS);
+            case "RADIX-3" -> new RadixPageTable(3, RadixPageTable.DEFAULT_VPN_BITS);
+            case "RADIX-4" -> new RadixPageTable(4, RadixPageTable.DEFAULT_VPN_BITS);
+            case "HASHED" -> new HashedPageTable(Math.max(16, Integer.highestOneBit(Math.max(1, frameCount)) * 2));
+            case "INVERTED" -> new InvertedPageTable(frameCount);
+            default -> throw new IllegalArgumentException("Unknown page table type: " + type);
+        };
+    }
+
+    /**
+     * Spreads the bits of a page number for hashed layouts.
+     */
+    static int hash(long vpn) {
+        long h = vpn * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates a grid of page replacement algorithms and frame counts in parallel.
+ * The reference string (and OPT's next-use table) is shared read-only by all
+ * workers; every grid cell gets its own policy instance. LRU rows are filled
+ * from a single stack-distance pass instead of one simulation per frame count.
+ */
+public class PagingSweep {
+
+    /**
+     * Fault counts for every (algorithm, frame count) cell of a sweep.
+     */
+    public static class Result {
+        private final String[] algorithms;
+        private final int minFrames;
+        private final int[][] faults; // faults[algorithm][frameCount - minFrames]
+
+        public Result(String[] algorithms, int minFrames, int[][] faults) {
+            this.algorithms = algorithms;
+            this.minFrames = minFrames;
+            this.faults = faults;
+        }
+
+        /**
+         * Gets the fault count of one cell.
+         * 
+         * @param algorithm Algorithm name as passed to the sweep
+         * @param frameCount Frame count within the swept range
+         */
+        public int getFaults(String algorithm, int frameCount) {
+            int row = Arrays.asList(algorithms).indexOf(algorithm);
+            if (row < 0) {
+                throw new IllegalArgumentException("Algorithm not in sweep: " + algorithm);
+            }
+            return faults[row][frameCount - minFrames];
+        }
+
+        // Getters
+        public String[] getAlgorithms() { return algorithms.clone(); }
+        public int getMinFrames() { return minFrames; }
+        public int getMaxFrames() { return minFrames + faults[0].length - 1; }
+        public int[][] getFaultMatrix() { return faults; }
+    }
+
+    /**
+     * Runs the sweep on the common ForkJoin pool.
+     * 
+     * @param pages The reference string
+     * @param algorithms Algorithms to evaluate (any of {@link DemandPaging#ALGORITHMS})
+     * @param minFrames Smallest frame count (inclusive)
+     * @param maxFrames Largest frame count (inclusive)
+     * @return The result matrix
+     */
+    public static Result run(int[] pages, String[] algorithms, int minFrames, int maxFrames) {
+        return run(pages, algorithms, minFrames, maxFrames, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the sweep on the given ForkJoin pool.
+     */
+    public static Result run(int[] pages, String[] algorithms, int minFrames, int maxFrames, ForkJoinPool pool) {
+        if (minFrames <= 0 || maxFrames < minFrames) {
+            throw new IllegalArgumentException("Invalid frame range: " + minFrames + ".." + maxFrames);
+        }
+        int columns = maxFrames - minFrames + 1;
+        int[][] faults = new int[algorithms.length][columns];
+        int[] nextUse = Arrays.asList(algorithms).contains("OPT") ? OptimalPolicy.computeNextUse(pages) : null;
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        int[] cellRows = new int[algorithms.length];
+        int simulatedRows = 0;
+        for (int row = 0; row < algorithms.length; row++) {
+            if ("LRU".equals(algorithms[row])) {
+                int[] target = faults[row];
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    MissRatioCurve curve = StackDistanceAnalyzer.analyze(pages);
+                    for (int c = 0; c < columns; c++) {
+                        target[c] = (int) curve.getFaults(minFrames + c);
+                    }
+                }));
+            } else {
+                cellRows[simulatedRows++] = row;
+            }
+        }
+        tasks.add(new CellTask(pages, nextUse, algorithms, minFrames, faults,
+                Arrays.copyOf(cellRows, simulatedRows), 0, simulatedRows * columns));
+
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        return new Result(algorithms.clone(), minFrames, faults);
+    }
+
+    /**
+     * Splits the flattened grid in halves until a single cell remains.
+     */
+    private static class CellTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] pages;
+        private final int[] nextUse;
+        private final String[] algorithms;
+        private final int minFrames;
+        private final int[][] faults;
+        private final int[] rows; // rows of the matrix covered by this grid
+        private final int from, to;
+
+        CellTask(int[] pages, int[] nextUse, String[] algorithms, int minFrames, int[][] faults,
+                 int[] rows, int from, int to) {
+            this.pages = pages;
+            this.nextUse = nextUse;
+            this.algorithms = algorithms;
+            this.minFrames = minFrames;
+            this.faults = faults;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to <= from) {
+                return;
+            }
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new CellTask(pages, nextUse, algorithms, minFrames, faults, rows, from, mid),
+                          new CellTask(pages, nextUse, algorithms, minFrames, faults, rows, mid, to));
+                return;
+            }
+            int columns = faults[0].length;
+            int row = rows[from / columns];
+            int frameCount = minFrames + from % columns;
+            String algorithm = algorithms[row];
+            ReplacementPolicy policy = "OPT".equals(algorithm)
+                    ? new OptimalPolicy(frameCount, nextUse)
+                    : DemandPaging.createPolicy(algorithm, frameCount);
+            faults[row][from % columns] = DemandPaging.simulate(policy, pages);
+        }
+    }
+}
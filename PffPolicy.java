@@ -0,0 +1,141 @@
+/**
+ * Page Fault Frequency replacement (Chu and Opderbeck).
+ * <p>
+ * The resident set only changes on a fault. If more than the critical interval
+ * of references has passed since the previous fault, the program is faulting
+ * rarely and every page not referenced since that fault is released. Otherwise
+ * the resident set grows by the new page. At the frame limit the least recently
+ * used page makes room.
+ * <p>
+ * Pages are kept in recency order with a last-use time each. Pages not used
+ * since the previous fault therefore form a run at the LRU end, and a shrink
+ * costs O(1) per page released.
+ */
+public class PffPolicy implements VariableAllocationPolicy {
+    /** Critical interval used when none is given, in references. */
+    public static final long DEFAULT_CRITICAL_INTERVAL = 1000;
+
+    private static final int RECENCY = 0;
+
+    private final int maxFrames;
+    private final long criticalInterval;
+    private final int[] slotPage;
+    private final long[] lastUse;
+    private final int[] freeSlots;
+    private final int[] evicted;
+    private final SlotLists lists;
+    private final PageIndex index;
+    private int freeCount;
+    private int evictionCount;
+    private long time;
+    private long lastFault;
+    private long residentSum;
+
+    /**
+     * Creates a page-fault-frequency policy.
+     * 
+     * @param maxFrames Upper bound on the resident set
+     * @param criticalInterval Fault interval, in references, above which the resident set shrinks
+     */
+    public PffPolicy(int maxFrames, long criticalInterval) {
+        if (maxFrames <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        if (criticalInterval <= 0) {
+            throw new IllegalArgumentException("Critical interval must be positive");
+        }
+        this.maxFrames = maxFrames;
+        this.criticalInterval = criticalInterval;
+        this.slotPage = new int[maxFrames];
+        this.lastUse = new long[maxFrames];
+        this.freeSlots = new int[maxFrames];
+        this.evicted = new int[maxFrames];
+        this.lists = new SlotLists(maxFrames, 1);
+        this.index = new PageIndex(maxFrames);
+        reset();
+    }
+
+    @Override
+    public boolean access(int page) {
+        evictionCount = 0;
+        time++;
+        int slot = index.get(page);
+        if (slot != PageIndex.ABSENT) {
+            lastUse[slot] = time;
+            lists.moveToLast(RECENCY, slot);
+            residentSum += index.size();
+            return true;
+        }
+
+        if (time - lastFault > criticalInterval) {
+            // Faults are rare: drop everything not used since the previous fault
+            int lru = lists.head(RECENCY);
+            while (lru != SlotLists.NIL && lastUse[lru] < lastFault) {
+                release(lru);
+                lru = lists.head(RECENCY);
+            }
+        }
+        if (freeCount == 0) {
+            release(lists.head(RECENCY));
+        }
+
+        slot = freeSlots[--freeCount];
+        slotPage[slot] = page;
+        lastUse[slot] = time;
+        index.put(page, slot);
+        lists.addLast(RECENCY, slot);
+        lastFault = time;
+        residentSum += index.size();
+        return false;
+    }
+
+    private void release(int slot) {
+        lists.remove(RECENCY, slot);
+        index.remove(slotPage[slot]);
+        evicted[evictionCount++] = slotPage[slot];
+        freeSlots[freeCount++] = slot;
+    }
+
+    @Override
+    public int getLastEvicted() {
+        return evictionCount == 0 ? NO_PAGE : evicted[evictionCount - 1];
+    }
+
+    @Override
+    public boolean hasEvicted() { return evictionCount > 0; }
+
+    @Override
+    public int getResidentCount() { return index.size(); }
+
+    @Override
+    public int getEvictionCount() { return evictionCount; }
+
+    @Override
+    public int getEvicted(int index) {
+        if (index < 0 || index >= evictionCount) {
+            throw new IndexOutOfBoundsException("Eviction " + index + " out of " + evictionCount);
+        }
+        return evicted[index];
+    }
+
+    @Override
+    public double getAverageResidentSize() {
+        return time == 0 ? 0 : (double) residentSum / time;
+    }
+
+    public long getCriticalInterval() { return criticalInterval; }
+
+    @Override
+    public void reset() {
+        lists.clear();
+        index.clear();
+        for (int i = 0; i < maxFrames; i++) {
+            freeSlots[i] = maxFrames - 1 - i;
+        }
+        freeCount = maxFrames;
+        evictionCount = 0;
+        time = 0;
+        lastFault = 0;
+        residentSum = 0;
+    }
+}
@@ -0,0 +1,66 @@
+import java.util.Locale;
+
+/**
+ * Outcome of a simulation with prefetching: demand faults, which the program
+ * waited for, separated from prefetches, which were either used before
+ * eviction or wasted.
+ */
+public class PrefetchStats {
+    private final long references;
+    private final long demandFaults;
+    private final long prefetches;
+    private final long useful;
+    private final long wasted;
+
+    /**
+     * Creates a result.
+     * 
+     * @param references References processed
+     * @param demandFaults References that found their page missing
+     * @param prefetches Pages loaded speculatively
+     * @param useful Prefetched pages referenced before eviction
+     * @param wasted Prefetched pages evicted without being referenced
+     */
+    public PrefetchStats(long references, long demandFaults, long prefetches, long useful, long wasted) {
+        this.references = references;
+        this.demandFaults = demandFaults;
+        this.prefetches = prefetches;
+        this.useful = useful;
+        this.wasted = wasted;
+    }
+
+    /**
+     * Gets the prefetched pages still resident and unreferenced at the end of the run.
+     */
+    public long getPending() {
+        return prefetches - useful - wasted;
+    }
+
+    /**
+     * Gets the fraction of prefetches that were used (prefetch accuracy).
+     */
+    public double getAccuracy() {
+        return prefetches == 0 ? 0 : (double) useful / prefetches;
+    }
+
+    /**
+     * Gets the total pages read from disk, demand and speculative.
+     */
+    public long getPageReads() {
+        return demandFaults + prefetches;
+    }
+
+    // Getters
+    public long getReferences() { return references; }
+    public long getDemandFaults() { return demandFaults; }
+    public long getPrefetches() { return prefetches; }
+    public long getUseful() { return useful; }
+    public long getWasted() { return wasted; }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%d references: %d demand faults, %d prefetches (%d useful, %d wasted, %d pending, %.1f%% accurate)",
+                references, demandFaults, prefetches, useful, wasted, getPending(), getAccuracy() * 100);
+    }
+}
@@ -0,0 +1,61 @@
+import java.util.Locale;
+
+/**
+ * Predicts pages to load before they are referenced.
+ * <p>
+ * After each reference has been served, the simulator asks the prefetcher for
+ * candidate pages. Candidates that are not already resident are loaded into the
+ * replacement policy like a fault that nobody waits for. A prefetched page is
+ * useful if it is referenced before being evicted, and wasted otherwise.
+ */
+public interface Prefetcher {
+
+    /** Prefetcher kinds accepted by {@link #create(String)}. */
+    String[] TYPES = {"READAHEAD", "SEQUENTIAL", "STRIDE"};
+
+    /**
+     * Observes one reference and suggests pages to prefetch.
+     * 
+     * @param page The page just referenced
+     * @param fault true if the reference was a demand fault
+     * @param candidates Receives the suggested pages; holds at least {@link #getMaxDegree()} entries
+     * @return The number of candidates written
+     */
+    int prefetch(int page, boolean fault, int[] candidates);
+
+    /**
+     * Gets the most candidates a single call can suggest.
+     */
+    int getMaxDegree();
+
+    /**
+     * Forgets all observed references.
+     */
+    void reset();
+
+    /**
+     * Gets a short description, e.g. "READAHEAD:4".
+     */
+    String getName();
+
+    /**
+     * Creates a prefetcher from a specification such as "readahead:4",
+     * "sequential:4:64" or "stride:4". Omitted parameters take their defaults.
+     * 
+     * @param spec Kind and parameters separated by colons
+     * @return A new prefetcher with no history
+     */
+    static Prefetcher create(String spec) {
+        String[] parts = spec.toUpperCase(Locale.ROOT).split(":");
+        int first = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+        int second = parts.length > 2 ? Integer.parseInt(parts[2]) : 0;
+        return switch (parts[0]) {
+            case "READAHEAD" -> new ReadaheadPrefetcher(parts.length > 1 ? first : ReadaheadPrefetcher.DEFAULT_DEGREE);
+            case "SEQUENTIAL" -> new SequentialPrefetcher(
+                    parts.length > 1 ? first : SequentialPrefetcher.DEFAULT_INITIAL_WINDOW,
+                    parts.length > 2 ? second : SequentialPrefetcher.DEFAULT_MAX_WINDOW);
+            case "STRIDE" -> new StridePrefetcher(parts.length > 1 ? first : StridePrefetcher.DEFAULT_DEGREE);
+            default -> throw new IllegalArgumentException("Unknown prefetcher: " + spec);
+        };
+    }
+}
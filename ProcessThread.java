@@ -11,9 +11,16 @@ public class ProcessThread {
     private final int threadId;
     private final String threadName;
     private int[] referenceString;
+    private boolean[] writes; // write flag per reference, null when all are reads
     private int priority;
     private int currentIndex;
     
+    // Streamed reference string (null when the thread owns an array)
+    private ReferenceSource source;
+    private PrimitiveIterator.OfInt stream;
+    private int streamedPage;
+    private int length;
+    
     // Thread state
     public enum State {
         READY, RUNNING, WAITING, BLOCKED, COMPLETED
@@ -44,6 +51,7 @@ public class ProcessThread {
         this.threadId = idGenerator.getAndIncrement();
         this.threadName = "T" + threadId;
         this.referenceString = referenceString;
+        this.length = referenceString.length;
         this.priority = priority;
         this.currentIndex = 0;
         this.state = State.READY;
@@ -55,22 +63,85 @@ public class ProcessThread {
         this.waitingForLock = null;
     }
     
+    /**
+     * Creates a new process thread whose references may write their pages.
+     * 
+     * @param references Page references tagged as reads or writes
+     * @param priority Thread priority (higher = more priority)
+     */
+    public ProcessThread(ReferenceString references, int priority) {
+        this(references.getPages(), priority);
+        this.writes = references.hasWrites() ? references.getWrites() : null;
+    }
+    
+    /**
+     * Creates a process thread that streams its references from a source,
+     * such as a trace file, instead of holding them in an array.
+     * 
+     * @param source Replayable page reference source
+     * @param priority Thread priority (higher = more priority)
+     */
+    public ProcessThread(ReferenceSource source, int priority) {
+        this(new int[0], priority);
+        if (source.length() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Reference source too long: " + source.length());
+        }
+        this.referenceString = null;
+        this.source = source;
+        this.length = (int) source.length();
+    }
+    
+    /**
+     * Starts a new pass over the source, closing the previous one. Called on
+     * first use, so threads that are created or reset but never run hold no
+     * open trace files.
+     */
+    private void openStream() {
+        closeStream();
+        stream = source.open();
+        streamedPage = stream.hasNext() ? stream.nextInt() : -1;
+    }
+    
+    private void closeStream() {
+        ReferenceSource.close(stream);
+        stream = null;
+    }
+    
     /**
      * Gets the next page reference for this thread.
      */
     public int getNextPage() {
-        if (currentIndex < referenceString.length) {
-            return referenceString[currentIndex];
+        if (currentIndex < length) {
+            if (referenceString != null) {
+                return referenceString[currentIndex];
+            }
+            if (stream == null) {
+                openStream();
+            }
+            return streamedPage;
         }
         return -1; // No more pages
     }
     
+    /**
+     * Checks whether the next page reference is a write.
+     */
+    public boolean isNextWrite() {
+        return writes != null && currentIndex < length && writes[currentIndex];
+    }
+    
     /**
      * Advances to the next page reference.
      */
     public void advanceIndex() {
         currentIndex++;
-        if (currentIndex >= referenceString.length) {
+        if (referenceString == null) {
+            if (stream == null) {
+                openStream();
+            }
+            streamedPage = stream.hasNext() ? stream.nextInt() : -1;
+        }
+        if (currentIndex >= length) {
             state = State.COMPLETED;
             completionTime = System.currentTimeMillis();
         }
@@ -80,7 +151,7 @@ public class ProcessThread {
      * Checks if thread has completed execution.
      */
     public boolean isCompleted() {
-        return currentIndex >= referenceString.length || state == State.COMPLETED;
+        return currentIndex >= length || state == State.COMPLETED;
     }
     
     /**
@@ -133,12 +204,76 @@ public class ProcessThread {
         this.waitingForLock = lockName;
     }
     
+    /**
+     * Finds where each of the given pages is referenced next, looking ahead from
+     * the current reference. A streamed thread scans a second pass over its source
+     * and stops as soon as every page has been found, so nothing is kept in memory.
+     * 
+     * @param slotOfPage Pages to look for, each mapped to a slot in nextUse
+     * @param nextUse Filled with the next position of each page; slots of pages
+     *        not referenced again must already hold Integer.MAX_VALUE
+     */
+    public void findNextUses(PageIndex slotOfPage, int[] nextUse) {
+        int found = 0;
+        if (referenceString != null) {
+            for (int i = currentIndex; i < length && found < slotOfPage.size(); i++) {
+                found += recordUse(slotOfPage, nextUse, referenceString[i], i);
+            }
+            return;
+        }
+        PrimitiveIterator.OfInt ahead = source.open();
+        try {
+            for (int i = 0; i < currentIndex; i++) {
+                ahead.nextInt();
+            }
+            for (int i = currentIndex; i < length && found < slotOfPage.size(); i++) {
+                found += recordUse(slotOfPage, nextUse, ahead.nextInt(), i);
+            }
+        } finally {
+            ReferenceSource.close(ahead);
+        }
+    }
+    
+    private static int recordUse(PageIndex slotOfPage, int[] nextUse, int page, int position) {
+        int slot = slotOfPage.get(page);
+        if (slot == PageIndex.ABSENT || nextUse[slot] != Integer.MAX_VALUE) {
+            return 0;
+        }
+        nextUse[slot] = position;
+        return 1;
+    }
+    
+    /**
+     * Gets the full reference string. A streamed thread reads its source into
+     * memory on the first call and keeps the array from then on.
+     */
+    public int[] getReferenceString() {
+        if (referenceString == null) {
+            int[] pages = new int[length];
+            PrimitiveIterator.OfInt all = source.open();
+            try {
+                for (int i = 0; i < length; i++) {
+                    pages[i] = all.nextInt();
+                }
+            } finally {
+                ReferenceSource.close(all);
+            }
+            referenceString = pages;
+            closeStream();
+        }
+        return referenceString;
+    }
+    
     // Getters and setters
     public int getThreadId() { return threadId; }
     public String getThreadName() { return threadName; }
-    public int[] getReferenceString() { return referenceString; }
+    public int getReferenceLength() { return length; }
     public void setReferenceString(int[] referenceString) { 
         this.referenceString = referenceString;
+        this.writes = null;
+        this.length = referenceString.length;
+        closeStream();
+        this.source = null;
         this.currentIndex = 0;
     }
     public int getPriority() { return priority; }
@@ -166,6 +301,9 @@ public class ProcessThread {
      */
     public void reset() {
         currentIndex = 0;
+        if (referenceString == null) {
+            closeStream(); // reopened by the next getNextPage
+        }
         state = State.READY;
         pageFaults = 0;
         pageHits = 0;
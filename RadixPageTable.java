@@ -0,0 +1,161 @@
+import java.util.Arrays;
+
+/**
+ * A multi-level (radix tree) page table, as used by x86-64 and ARMv8.
+ * <p>
+ * The virtual page number is split into one index per level, the top level
+ * taking any leftover bits. Every level visited costs one memory access, so a
+ * walk touches up to {@code levels} entries. A walk stops early at a missing
+ * table. Tables are allocated on first use and kept when their pages are
+ * unmapped, like most kernels do, so the footprint only grows. Sparse address
+ * spaces pay for a whole table per populated region at every level.
+ */
+public class RadixPageTable implements PageTable {
+
+    /** 48-bit virtual addresses with 4 KB pages, as on x86-64. */
+    public static final int DEFAULT_VPN_BITS = 36;
+
+    private final int levels;
+    private final int vpnBits;
+    private final int[] shift;     // shift[level] of the index bits, level 0 = root
+    private final int[] indexBits; // index width per level
+    private Object root;           // Object[] for inner levels, int[] for the last
+    private long tables;
+    private long footprint;
+    private int mapped;
+    private long lookups;
+    private long memoryAccesses;
+
+    /**
+     * Creates an empty radix page table.
+     * 
+     * @param levels Number of levels, 1 to 8
+     * @param vpnBits Width of virtual page numbers, up to 64
+     */
+    public RadixPageTable(int levels, int vpnBits) {
+        if (levels < 1 || levels > 8) {
+            throw new IllegalArgumentException("Levels must be between 1 and 8");
+        }
+        if (vpnBits < levels || vpnBits > 64 || (vpnBits + levels - 1) / levels > 24) {
+            throw new IllegalArgumentException("VPN width must be 1 to 64 bits with at most 24 bits per level");
+        }
+        this.levels = levels;
+        this.vpnBits = vpnBits;
+        this.shift = new int[levels];
+        this.indexBits = new int[levels];
+        int below = 0;
+        for (int level = levels - 1; level >= 0; level--) {
+            indexBits[level] = level == 0 ? vpnBits - below : vpnBits / levels;
+            shift[level] = below;
+            below += indexBits[level];
+        }
+        clear();
+    }
+
+    @Override
+    public int lookup(long vpn) {
+        checkRange(vpn);
+        lookups++;
+        Object node = root;
+        for (int level = 0; level < levels - 1; level++) {
+            memoryAccesses++;
+            node = ((Object[]) node)[index(vpn, level)];
+            if (node == null) {
+                return NOT_MAPPED;
+            }
+        }
+        memoryAccesses++;
+        return ((int[]) node)[index(vpn, levels - 1)];
+    }
+
+    @Override
+    public void map(long vpn, int frame) {
+        checkRange(vpn);
+        if (frame < 0) {
+            throw new IllegalArgumentException("Frame must not be negative");
+        }
+        int[] leaf = leaf(vpn, true);
+        int i = index(vpn, levels - 1);
+        if (leaf[i] == NOT_MAPPED) {
+            mapped++;
+        }
+        leaf[i] = frame;
+    }
+
+    @Override
+    public void unmap(long vpn) {
+        checkRange(vpn);
+        int[] leaf = leaf(vpn, false);
+        int i = index(vpn, levels - 1);
+        if (leaf != null && leaf[i] != NOT_MAPPED) {
+            leaf[i] = NOT_MAPPED;
+            mapped--;
+        }
+    }
+
+    private int[] leaf(long vpn, boolean create) {
+        Object node = root;
+        for (int level = 0; level < levels - 1; level++) {
+            Object[] table = (Object[]) node;
+            int i = index(vpn, level);
+            if (table[i] == null) {
+                if (!create) {
+                    return null;
+                }
+                table[i] = newTable(level + 1);
+            }
+            node = table[i];
+        }
+        return (int[]) node;
+    }
+
+    private Object newTable(int level) {
+        int entries = 1 << indexBits[level];
+        tables++;
+        footprint += (long) entries * ENTRY_BYTES;
+        if (level == levels - 1) {
+            int[] leaf = new int[entries];
+            Arrays.fill(leaf, NOT_MAPPED);
+            return leaf;
+        }
+        return new Object[entries];
+    }
+
+    private int index(long vpn, int level) {
+        return (int) (vpn >>> shift[level]) & ((1 << indexBits[level]) - 1);
+    }
+
+    private void checkRange(long vpn) {
+        if (vpnBits < 64 && (vpn >>> vpnBits) != 0) {
+            throw new IllegalArgumentException("VPN " + Long.toUnsignedString(vpn) + " exceeds " + vpnBits + " bits");
+        }
+    }
+
+    @Override
+    public int getMappedCount() { return mapped; }
+
+    @Override
+    public long getLookups() { return lookups; }
+
+    @Override
+    public long getMemoryAccesses() { return memoryAccesses; }
+
+    @Override
+    public long getFootprintBytes() { return footprint; }
+
+    @Override
+    public String getName() { return levels + "-level radix"; }
+
+    public int getLevels() { return levels; }
+    public long getTableCount() { return tables; }
+
+    @Override
+    public void clear() {
+        tables = 0;
+        footprint = 0;
+        root = newTable(0);
+        mapped = 0;
+        lookups = 0;
+        memoryAccesses = 0;
+    }
+}
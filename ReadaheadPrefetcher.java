@@ -0,0 +1,46 @@
+/**
+ * Fixed readahead: every demand fault on page p also loads p + 1 to p + degree.
+ * Cheap and effective on scans, but it brings in the same amount of useless
+ * pages on random faults.
+ */
+public class ReadaheadPrefetcher implements Prefetcher {
+
+    /** Pages read ahead when no degree is given. */
+    public static final int DEFAULT_DEGREE = 4;
+
+    private final int degree;
+
+    /**
+     * Creates a fixed readahead prefetcher.
+     * 
+     * @param degree Pages loaded after each faulting page
+     */
+    public ReadaheadPrefetcher(int degree) {
+        if (degree <= 0) {
+            throw new IllegalArgumentException("Readahead degree must be positive");
+        }
+        this.degree = degree;
+    }
+
+    @Override
+    public int prefetch(int page, boolean fault, int[] candidates) {
+        if (!fault) {
+            return 0;
+        }
+        for (int i = 0; i < degree; i++) {
+            candidates[i] = page + 1 + i;
+        }
+        return degree;
+    }
+
+    @Override
+    public int getMaxDegree() { return degree; }
+
+    @Override
+    public void reset() {
+        // No history
+    }
+
+    @Override
+    public String getName() { return "READAHEAD:" + degree; }
+}
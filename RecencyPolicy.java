@@ -0,0 +1,78 @@
+/**
+ * LRU and MRU page replacement with constant-time hit, miss and eviction.
+ * Resident pages are found through a {@link PageIndex} and kept in recency
+ * order on an intrusive slot list, so no per-reference allocation occurs.
+ */
+public class RecencyPolicy implements ReplacementPolicy {
+    private static final int ORDER = 0; // head = least recent, tail = most recent
+
+    private final int frameCount;
+    private final boolean evictMostRecent;
+    private final int[] slotPage;
+    private final PageIndex index;
+    private final SlotLists order;
+    private int used;
+    private int lastEvicted;
+    private boolean hasEvicted; // whether lastEvicted holds a page
+
+    /**
+     * Creates a recency-based policy.
+     * 
+     * @param frameCount The number of frames available in memory
+     * @param evictMostRecent true for MRU, false for LRU
+     */
+    public RecencyPolicy(int frameCount, boolean evictMostRecent) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        this.frameCount = frameCount;
+        this.evictMostRecent = evictMostRecent;
+        this.slotPage = new int[frameCount];
+        this.index = new PageIndex(frameCount);
+        this.order = new SlotLists(frameCount, 1);
+        this.lastEvicted = NO_PAGE;
+    }
+
+    @Override
+    public boolean access(int page) {
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        int slot = index.get(page);
+        if (slot != PageIndex.ABSENT) {
+            order.moveToLast(ORDER, slot);
+            return true;
+        }
+
+        if (used < frameCount) {
+            slot = used++;
+        } else {
+            slot = evictMostRecent ? order.tail(ORDER) : order.head(ORDER);
+            order.remove(ORDER, slot);
+            lastEvicted = slotPage[slot];
+            hasEvicted = true;
+            index.remove(lastEvicted);
+        }
+        slotPage[slot] = page;
+        index.put(page, slot);
+        order.addLast(ORDER, slot);
+        return false;
+    }
+
+    @Override
+    public int getLastEvicted() { return lastEvicted; }
+
+    @Override
+    public boolean hasEvicted() { return hasEvicted; }
+
+    @Override
+    public int getResidentCount() { return used; }
+
+    @Override
+    public void reset() {
+        index.clear();
+        order.clear();
+        used = 0;
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+    }
+}
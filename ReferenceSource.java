@@ -0,0 +1,41 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A reference string that can be replayed from the start any number of times
+ * without being held in memory, such as a trace file or a workload generator.
+ */
+public interface ReferenceSource {
+
+    /**
+     * Starts a new pass over the references. The caller must pass the iterator
+     * to {@link #close} when done with it, even if it was not read to the end.
+     * 
+     * @return An iterator positioned at the first reference
+     */
+    PrimitiveIterator.OfInt open();
+
+    /**
+     * Gets the number of references in one pass.
+     */
+    long length();
+
+    /**
+     * Releases an iterator returned by {@link #open}, such as an open trace file.
+     * Iterators that hold no resources are left alone.
+     * 
+     * @param references Iterator to release, may be null
+     * @throws UncheckedIOException if closing fails
+     */
+    static void close(PrimitiveIterator.OfInt references) {
+        if (references instanceof Closeable) {
+            try {
+                ((Closeable) references).close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * A reference string whose references are tagged as reads or writes.
+ * <p>
+ * Text form: page numbers separated by whitespace or commas. A trailing
+ * {@code w} marks a write and an optional trailing {@code r} a read, e.g.
+ * {@code "1 2w 3 2r 1W"}. Untagged references are reads, so plain strings
+ * parse as before.
+ */
+public class ReferenceString {
+    private final int[] pages;
+    private final boolean[] writes;
+
+    /**
+     * Creates a reference string.
+     * 
+     * @param pages The page numbers
+     * @param writes Write flag per reference (same length as pages)
+     */
+    public ReferenceString(int[] pages, boolean[] writes) {
+        if (pages.length != writes.length) {
+            throw new IllegalArgumentException("Need one write flag per reference");
+        }
+        this.pages = pages;
+        this.writes = writes;
+    }
+
+    /**
+     * Parses the text form.
+     * 
+     * @param text Page numbers with optional r/w suffixes
+     * @return The parsed reference string
+     * @throws IllegalArgumentException if a token is not a tagged page number
+     */
+    public static ReferenceString parse(String text) {
+        String trimmed = text.trim();
+        String[] tokens = trimmed.isEmpty() ? new String[0] : trimmed.split("[\\s,]+");
+        int[] pages = new int[tokens.length];
+        boolean[] writes = new boolean[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i];
+            char last = Character.toLowerCase(token.charAt(token.length() - 1));
+            if (last == 'w' || last == 'r') {
+                writes[i] = last == 'w';
+                token = token.substring(0, token.length() - 1);
+            }
+            pages[i] = Integer.parseInt(token);
+        }
+        return new ReferenceString(pages, writes);
+    }
+
+    /**
+     * Checks whether any reference is a write.
+     */
+    public boolean hasWrites() {
+        for (boolean write : writes) {
+            if (write) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Getters
+    public int[] getPages() { return pages; }
+    public boolean[] getWrites() { return writes; }
+    public int length() { return pages.length; }
+}
@@ -0,0 +1,55 @@
+/**
+ * A page replacement policy that processes one page reference at a time.
+ * Implementations keep their own frame table and report hits and evictions.
+ */
+public interface ReplacementPolicy {
+
+    /**
+     * Returned by {@link #getLastEvicted()} when no page was evicted. Negative
+     * page numbers are valid too, so check {@link #hasEvicted()} instead of
+     * comparing against this value.
+     */
+    int NO_PAGE = -1;
+
+    /**
+     * Processes a single page reference.
+     * 
+     * @param page The referenced page number
+     * @return true on a page hit, false on a page fault
+     */
+    boolean access(int page);
+
+    /**
+     * Processes a single page reference that may modify the page.
+     * Policies that ignore the kind of access treat writes as reads.
+     * 
+     * @param page The referenced page number
+     * @param write true if the reference writes the page
+     * @return true on a page hit, false on a page fault
+     */
+    default boolean access(int page, boolean write) {
+        return access(page);
+    }
+
+    /**
+     * Gets the page evicted by the most recent access.
+     * 
+     * @return The evicted page, or NO_PAGE if {@link #hasEvicted()} is false
+     */
+    int getLastEvicted();
+
+    /**
+     * Checks whether the most recent access evicted a page.
+     */
+    boolean hasEvicted();
+
+    /**
+     * Gets the number of pages currently resident in memory.
+     */
+    int getResidentCount();
+
+    /**
+     * Clears all frames so the policy can be reused for another run.
+     */
+    void reset();
+}
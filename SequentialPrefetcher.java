@@ -0,0 +1,91 @@
+/**
+ * Adaptive sequential readahead in the style of the Linux page cache.
+ * <p>
+ * A fault on the page right after the previous reference starts a readahead
+ * window of the initial size just past it. The first page of each window acts
+ * as a marker: when the stream reaches it, the next window is read ahead
+ * asynchronously at twice the size, up to the maximum. A random fault, which
+ * does not continue the stream, resets the window and prefetches nothing, so
+ * random access costs no wasted I/O while long scans quickly ramp up to large
+ * windows and stop faulting.
+ * <p>
+ * A fault inside an active stream means prefetched pages were evicted before
+ * use: memory cannot hold two windows. The window limit is then halved, down to
+ * the initial size, as Linux does when it detects readahead thrashing.
+ */
+public class SequentialPrefetcher implements Prefetcher {
+
+    /** First window size when none is given. */
+    public static final int DEFAULT_INITIAL_WINDOW = 4;
+
+    /** Largest window size when none is given. */
+    public static final int DEFAULT_MAX_WINDOW = 32;
+
+    private static final int NO_MARKER = -1;
+
+    private final int initialWindow;
+    private final int maxWindow;
+    private int lastPage;
+    private int windowStart;
+    private int windowSize;
+    private int marker;
+    private int limit;
+
+    /**
+     * Creates an adaptive sequential prefetcher.
+     * 
+     * @param initialWindow Pages read ahead when a sequential stream is detected
+     * @param maxWindow Largest window the stream can ramp up to
+     */
+    public SequentialPrefetcher(int initialWindow, int maxWindow) {
+        if (initialWindow <= 0 || maxWindow < initialWindow) {
+            throw new IllegalArgumentException("Need 0 < initial window <= max window");
+        }
+        this.initialWindow = initialWindow;
+        this.maxWindow = maxWindow;
+        reset();
+    }
+
+    @Override
+    public int prefetch(int page, boolean fault, int[] candidates) {
+        boolean sequential = page == lastPage + 1;
+        lastPage = page;
+        if (page == marker) {
+            // The stream reached the current window: read the next, larger one
+            windowStart += windowSize;
+            windowSize = Math.min(windowSize * 2, limit);
+        } else if (fault && sequential) {
+            if (marker != NO_MARKER) {
+                // Readahead thrashing: the stream faulted on a page it prefetched
+                limit = Math.max(initialWindow, windowSize / 2);
+            }
+            windowStart = page + 1;
+            windowSize = initialWindow;
+        } else {
+            if (fault) {
+                marker = NO_MARKER;
+            }
+            return 0;
+        }
+        marker = windowStart;
+        for (int i = 0; i < windowSize; i++) {
+            candidates[i] = windowStart + i;
+        }
+        return windowSize;
+    }
+
+    @Override
+    public int getMaxDegree() { return maxWindow; }
+
+    @Override
+    public void reset() {
+        lastPage = Integer.MIN_VALUE;
+        windowStart = 0;
+        windowSize = 0;
+        marker = NO_MARKER;
+        limit = maxWindow;
+    }
+
+    @Override
+    public String getName() { return "SEQUENTIAL:" + initialWindow + ":" + maxWindow; }
+}
@@ -0,0 +1,178 @@
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Approximate LRU miss-ratio curves by spatially hashed sampling (SHARDS,
+ * Waldspurger et al.).
+ * <p>
+ * A page is sampled when its hash falls below a threshold T, so every
+ * reference to a sampled page is seen and reuse distances within the sample
+ * are exact. With sampling rate R = T / P, a stack distance d measured among
+ * sampled pages stands for a distance of about d / R in the full trace, and
+ * each sampled reference stands for 1 / R references.
+ * <p>
+ * In fixed-size mode at most {@code maxSampledPages} pages are tracked. When
+ * the set overflows, the threshold drops to the largest tracked hash and
+ * pages at or above it are dropped, which lowers R. Memory is then bounded by
+ * the sample size and the curve resolution, independent of trace length.
+ * In fixed-rate mode ({@code maxSampledPages = Integer.MAX_VALUE}) every
+ * sampled page is kept, so memory grows with the number of distinct sampled
+ * pages, about R times the distinct pages of the trace.
+ */
+public class ShardsSampler {
+    private static final int HASH_BITS = 24;
+    private static final long MODULUS = 1L << HASH_BITS;
+
+    private final int maxFrames;
+    private final int maxSampledPages;
+    private final StackDistanceAnalyzer analyzer;
+    private final double[] weightedMisses; // weightedMisses[k]: estimated references at distance k
+    private double weightedCold;
+    private long threshold;
+    private long references;
+
+    // Max-heap of tracked pages packed as (hash << 32 | page), fixed-size mode only
+    private long[] heap;
+    private int heapSize;
+
+    /**
+     * Creates a sampler.
+     * 
+     * @param rate Initial sampling rate, in (0, 1]
+     * @param maxSampledPages Upper bound on tracked pages, or Integer.MAX_VALUE for a fixed rate
+     * @param maxFrames Largest frame count the curve must cover
+     */
+    public ShardsSampler(double rate, int maxSampledPages, int maxFrames) {
+        if (rate <= 0 || rate > 1) {
+            throw new IllegalArgumentException("Sampling rate must be in (0, 1]: " + rate);
+        }
+        if (maxSampledPages <= 0 || maxFrames <= 0) {
+            throw new IllegalArgumentException("Sample size and frame range must be positive");
+        }
+        this.threshold = Math.max(1, Math.round(rate * MODULUS));
+        this.maxSampledPages = maxSampledPages;
+        this.maxFrames = maxFrames;
+        this.analyzer = new StackDistanceAnalyzer();
+        this.weightedMisses = new double[maxFrames + 2];
+        this.heap = maxSampledPages == Integer.MAX_VALUE ? null : new long[Math.min(maxSampledPages + 1, 1024)];
+    }
+
+    /**
+     * Estimates the LRU miss-ratio curve of a reference stream.
+     * 
+     * @param references The page references, consumed until exhausted
+     * @param rate Sampling rate, in (0, 1]
+     * @param maxSampledPages Upper bound on tracked pages, or Integer.MAX_VALUE for a fixed rate
+     * @param maxFrames Largest frame count the curve must cover
+     * @return The estimated curve for 0..maxFrames frames
+     */
+    public static MissRatioCurve estimate(PrimitiveIterator.OfInt references, double rate,
+                                          int maxSampledPages, int maxFrames) {
+        ShardsSampler sampler = new ShardsSampler(rate, maxSampledPages, maxFrames);
+        while (references.hasNext()) {
+            sampler.access(references.nextInt());
+        }
+        return sampler.toCurve();
+    }
+
+    /**
+     * Feeds one reference to the sampler.
+     */
+    public void access(int page) {
+        references++;
+        long hash = hash(page);
+        if (hash >= threshold) {
+            return;
+        }
+
+        double rate = threshold / (double) MODULUS;
+        int distance = analyzer.access(page);
+        if (distance == StackDistanceAnalyzer.COLD) {
+            weightedCold += 1 / rate;
+            if (heap != null) {
+                push(hash << 32 | (page & 0xFFFFFFFFL));
+                if (heapSize > maxSampledPages) {
+                    lowerThreshold();
+                }
+            }
+        } else {
+            long scaled = Math.max(1, Math.round(distance / rate));
+            weightedMisses[(int) Math.min(scaled, maxFrames + 1)] += 1 / rate;
+        }
+    }
+
+    /**
+     * Builds the estimated curve. Every reference is counted exactly; faults are
+     * the weighted sampled references whose scaled distance exceeds the frame count.
+     */
+    public MissRatioCurve toCurve() {
+        long[] faults = new long[maxFrames + 1];
+        double misses = weightedCold + weightedMisses[maxFrames + 1];
+        for (int k = maxFrames; k >= 1; k--) {
+            faults[k] = Math.min(references, Math.round(misses));
+            misses += weightedMisses[k];
+        }
+        faults[0] = references;
+        return new MissRatioCurve(references, faults);
+    }
+
+    /**
+     * Drops the pages with the largest hash and makes that hash the new threshold.
+     */
+    private void lowerThreshold() {
+        long top = heap[0] >>> 32;
+        threshold = top;
+        while (heapSize > 0 && heap[0] >>> 32 == top) {
+            analyzer.forget((int) heap[0]);
+            pop();
+        }
+    }
+
+    private static long hash(int page) {
+        long z = page * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) >>> (64 - HASH_BITS);
+    }
+
+    private void push(long entry) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        int pos = heapSize++;
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (heap[parent] >= entry) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = entry;
+    }
+
+    private void pop() {
+        long last = heap[--heapSize];
+        int pos = 0;
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (heap[child] <= last) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = last;
+    }
+
+    // Getters
+    public long getReferences() { return references; }
+    public double getRate() { return threshold / (double) MODULUS; }
+    public int getSampledPages() { return analyzer.getDistinctPages(); }
+}
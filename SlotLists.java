@@ -0,0 +1,110 @@
+import java.util.Arrays;
+
+/**
+ * A set of intrusive doubly linked lists threaded through frame slots.
+ * Links are kept in primitive arrays indexed by slot, so linking, unlinking
+ * and moving a slot are constant time and never allocate. Each slot belongs
+ * to at most one list at a time.
+ */
+public class SlotLists {
+
+    /** Link value meaning "no slot". */
+    public static final int NIL = -1;
+
+    private final int[] prev;
+    private final int[] next;
+    private final int[] head;
+    private final int[] tail;
+    private final int[] size;
+
+    /**
+     * Creates the link arrays.
+     * 
+     * @param slotCount Number of slots that can be linked
+     * @param listCount Number of independent lists sharing the slots
+     */
+    public SlotLists(int slotCount, int listCount) {
+        this.prev = new int[slotCount];
+        this.next = new int[slotCount];
+        this.head = new int[listCount];
+        this.tail = new int[listCount];
+        this.size = new int[listCount];
+        clear();
+    }
+
+    /**
+     * Appends a slot at the tail of a list.
+     */
+    public void addLast(int list, int slot) {
+        int t = tail[list];
+        prev[slot] = t;
+        next[slot] = NIL;
+        if (t == NIL) {
+            head[list] = slot;
+        } else {
+            next[t] = slot;
+        }
+        tail[list] = slot;
+        size[list]++;
+    }
+
+    /**
+     * Inserts a slot at the head of a list.
+     */
+    public void addFirst(int list, int slot) {
+        int h = head[list];
+        prev[slot] = NIL;
+        next[slot] = h;
+        if (h == NIL) {
+            tail[list] = slot;
+        } else {
+            prev[h] = slot;
+        }
+        head[list] = slot;
+        size[list]++;
+    }
+
+    /**
+     * Unlinks a slot from the list it is on.
+     */
+    public void remove(int list, int slot) {
+        int p = prev[slot];
+        int n = next[slot];
+        if (p == NIL) {
+            head[list] = n;
+        } else {
+            next[p] = n;
+        }
+        if (n == NIL) {
+            tail[list] = p;
+        } else {
+            prev[n] = p;
+        }
+        size[list]--;
+    }
+
+    /**
+     * Moves a slot that is already on a list to that list's tail.
+     */
+    public void moveToLast(int list, int slot) {
+        if (tail[list] != slot) {
+            remove(list, slot);
+            addLast(list, slot);
+        }
+    }
+
+    /**
+     * Empties every list.
+     */
+    public void clear() {
+        Arrays.fill(head, NIL);
+        Arrays.fill(tail, NIL);
+        Arrays.fill(size, 0);
+    }
+
+    public int head(int list) { return head[list]; }
+    public int tail(int list) { return tail[list]; }
+    public int size(int list) { return size[list]; }
+    public int next(int slot) { return next[slot]; }
+    public int prev(int slot) { return prev[slot]; }
+}
@@ -0,0 +1,163 @@
+import java.util.Arrays;
+
+/**
+ * Computes LRU stack distances (Mattson et al.) in one pass over a reference stream.
+ * <p>
+ * Each page's last access time is marked in a Fenwick tree, so the number of distinct
+ * pages touched since a page's previous access is a prefix-sum query. A reference with
+ * stack distance d hits under LRU exactly when at least d frames are available, so the
+ * distance histogram yields the fault count for every frame count at once.
+ * Time stamps are periodically compacted, keeping memory proportional to the number
+ * of distinct pages rather than the trace length.
+ */
+public class StackDistanceAnalyzer {
+
+    /** Stack distance reported for the first reference to a page. */
+    public static final int COLD = -1;
+
+    private final PageIndex lastAccess; // page -> time slot of its last access
+    private int[] tree;                 // Fenwick tree over time slots (1-based)
+    private int[] slotPage;             // page marked at each time slot
+    private int clock;
+    private long[] histogram;           // histogram[d] = references with distance d
+    private long coldMisses;
+    private long references;
+
+    /**
+     * Creates an empty analyzer.
+     */
+    public StackDistanceAnalyzer() {
+        this.lastAccess = new PageIndex(1024);
+        this.tree = new int[1025];
+        this.slotPage = new int[1024];
+        this.histogram = new long[64];
+    }
+
+    /**
+     * Builds the exact LRU miss-ratio curve of a reference string.
+     * 
+     * @param pages The reference string
+     * @return Fault counts for every frame count up to the number of distinct pages
+     */
+    public static MissRatioCurve analyze(int[] pages) {
+        StackDistanceAnalyzer analyzer = new StackDistanceAnalyzer();
+        for (int page : pages) {
+            analyzer.access(page);
+        }
+        return analyzer.toCurve();
+    }
+
+    /**
+     * Records one reference and returns its stack distance.
+     * 
+     * @param page The referenced page number
+     * @return The LRU stack distance (1 = most recently used), or COLD on first touch
+     */
+    public int access(int page) {
+        references++;
+        if (clock == slotPage.length) {
+            compact();
+        }
+
+        int previous = lastAccess.get(page);
+        int distance;
+        if (previous == PageIndex.ABSENT) {
+            coldMisses++;
+            distance = COLD;
+        } else {
+            // Distinct pages touched after the previous access, plus the page itself
+            distance = prefixSum(clock) - prefixSum(previous + 1) + 1;
+            add(previous, -1);
+            if (distance >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, Math.max(distance + 1, histogram.length * 2));
+            }
+            histogram[distance]++;
+        }
+
+        slotPage[clock] = page;
+        add(clock, 1);
+        lastAccess.put(page, clock);
+        clock++;
+        return distance;
+    }
+
+    /**
+     * Drops a page from the stack, as if it had never been referenced.
+     * Used by samplers that stop tracking a page.
+     * 
+     * @param page The page number
+     */
+    public void forget(int page) {
+        int slot = lastAccess.remove(page);
+        if (slot != PageIndex.ABSENT) {
+            add(slot, -1);
+        }
+    }
+
+    /**
+     * Builds the miss-ratio curve for everything recorded so far.
+     */
+    public MissRatioCurve toCurve() {
+        int maxFrames = lastAccess.size();
+        long[] faults = new long[maxFrames + 1];
+        long misses = coldMisses;
+        for (int k = maxFrames; k >= 0; k--) {
+            faults[k] = misses;
+            if (k < histogram.length) {
+                misses += histogram[k];
+            }
+        }
+        return new MissRatioCurve(references, faults);
+    }
+
+    /**
+     * Renumbers live time slots densely in access order and rebuilds the tree.
+     * Grows the slot space when more than half of it is still live.
+     */
+    private void compact() {
+        int live = lastAccess.size();
+        int capacity = live > slotPage.length / 2 ? slotPage.length * 2 : slotPage.length;
+        int[] pages = new int[capacity];
+        int next = 0;
+        for (int slot = 0; slot < clock; slot++) {
+            int page = slotPage[slot];
+            if (lastAccess.get(page) == slot) {
+                lastAccess.put(page, next);
+                pages[next++] = page;
+            }
+        }
+
+        slotPage = pages;
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            if (i <= next) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+        clock = next;
+    }
+
+    private void add(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /** Number of marked slots in [0, end). */
+    private int prefixSum(int end) {
+        int sum = 0;
+        for (int i = end; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // Getters
+    public long getReferences() { return references; }
+    public long getColdMisses() { return coldMisses; }
+    public int getDistinctPages() { return lastAccess.size(); }
+}
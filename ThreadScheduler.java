@@ -17,6 +17,7 @@ public class ThreadScheduler {
     private ProcessThread currentThread;
     private int currentQuantumUsed;
     private int totalContextSwitches;
+    private Runnable contextSwitchListener; // e.g. a TLB flush
     
     /**
      * Creates a new thread scheduler.
@@ -136,6 +137,18 @@ public class ThreadScheduler {
         if (currentThread != null) {
             currentThread.recordContextSwitch();
         }
+        if (contextSwitchListener != null) {
+            contextSwitchListener.run();
+        }
+    }
+    
+    /**
+     * Registers an action to run on every context switch, such as flushing a TLB.
+     * 
+     * @param listener The action, or null to remove it
+     */
+    public void setContextSwitchListener(Runnable listener) {
+        this.contextSwitchListener = listener;
     }
     
     /**
@@ -0,0 +1,247 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Event log of a multithreaded simulation, stored column by column in
+ * primitive arrays.
+ * <p>
+ * Recording an event writes a step, a thread index, an event type and up to
+ * two integer arguments (a page or lock index, and a thread index) into chunks
+ * of 4096 entries. No event object or string is created until a viewer asks:
+ * {@link #get(int)} builds a {@link MultiThreadSimulator.TimelineEvent} with
+ * its text on demand. Once the log is full, the oldest chunk is dropped, so long
+ * runs use bounded memory while keeping at least the capacity's worth of recent
+ * events.
+ */
+public class Timeline extends AbstractList<MultiThreadSimulator.TimelineEvent> {
+
+    /**
+     * Kinds of recorded events.
+     */
+    public enum Type {
+        PAGE_ACCESS, PAGE_FAULT, PAGE_HIT, PAGE_EVICT, WRITE_BACK,
+        CONTEXT_SWITCH, LOCK_ACQUIRE, LOCK_RELEASE, BLOCKED
+    }
+
+    /** Events kept by default (about 17 MB of columns when full). */
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    private static final Type[] TYPES = Type.values();
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final int maxChunks;
+
+    // Chunk directories, one per column; chunk c lives at c % length once full
+    private int[][] steps;
+    private int[][] threadIndexes;
+    private byte[][] types;
+    private int[][] arguments;
+    private int[][] extraArguments;
+
+    private long total;  // events ever recorded
+    private long first;  // number of the oldest retained event
+
+    // Registries that turn stored indexes back into objects and names
+    private List<ProcessThread> threads = List.of();
+    private List<LockResource> locks = List.of();
+    private PageIndex threadIndex = new PageIndex(4);
+
+    /**
+     * Creates an empty timeline with the default capacity.
+     */
+    public Timeline() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty timeline.
+     *
+     * @param capacity Least number of recent events to retain
+     */
+    public Timeline(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Timeline capacity must be positive");
+        }
+        // One spare chunk, so a full capacity survives dropping the oldest chunk
+        this.maxChunks = (int) (((long) capacity + CHUNK_SIZE - 1) >>> CHUNK_SHIFT) + 1;
+        allocateDirectories(1);
+    }
+
+    /**
+     * Clears the timeline for a new run.
+     *
+     * @param threads Threads whose events will be recorded
+     * @param locks Locks referred to by lock events, by position
+     */
+    public void reset(List<ProcessThread> threads, List<LockResource> locks) {
+        this.threads = threads;
+        this.locks = locks;
+        threadIndex = new PageIndex(threads.size());
+        for (int i = 0; i < threads.size(); i++) {
+            threadIndex.put(threads.get(i).getThreadId(), i);
+        }
+        allocateDirectories(1);
+        total = 0;
+        first = 0;
+    }
+
+    /**
+     * Records an event.
+     *
+     * @param step Simulation step
+     * @param thread Thread the event belongs to (registered at reset)
+     * @param type Kind of event
+     * @param argument Page for page events, lock index for lock events
+     * @param other Owner of the evicted page for PAGE_EVICT, otherwise null
+     */
+    public void record(int step, ProcessThread thread, Type type, int argument, ProcessThread other) {
+        long chunk = total >>> CHUNK_SHIFT;
+        int offset = (int) (total & CHUNK_MASK);
+        if (offset == 0) {
+            startChunk(chunk);
+        }
+        int slot = (int) (chunk % steps.length);
+        steps[slot][offset] = step;
+        threadIndexes[slot][offset] = threadIndex.get(thread.getThreadId());
+        types[slot][offset] = (byte) type.ordinal();
+        arguments[slot][offset] = argument;
+        extraArguments[slot][offset] = other == null ? PageIndex.ABSENT : threadIndex.get(other.getThreadId());
+        total++;
+    }
+
+    /**
+     * Makes room for a new chunk, growing the directories or dropping the oldest chunk.
+     */
+    private void startChunk(long chunk) {
+        if (chunk >= steps.length && steps.length < maxChunks) {
+            // Not wrapped yet, so chunk c still sits at index c while growing
+            int length = (int) Math.min(maxChunks, (long) steps.length * 2);
+            steps = Arrays.copyOf(steps, length);
+            threadIndexes = Arrays.copyOf(threadIndexes, length);
+            types = Arrays.copyOf(types, length);
+            arguments = Arrays.copyOf(arguments, length);
+            extraArguments = Arrays.copyOf(extraArguments, length);
+        }
+        int slot = (int) (chunk % steps.length);
+        if (steps[slot] == null) {
+            steps[slot] = new int[CHUNK_SIZE];
+            threadIndexes[slot] = new int[CHUNK_SIZE];
+            types[slot] = new byte[CHUNK_SIZE];
+            arguments[slot] = new int[CHUNK_SIZE];
+            extraArguments[slot] = new int[CHUNK_SIZE];
+        } else if (chunk >= steps.length) {
+            // Reusing the slot of the oldest chunk
+            first = (chunk - steps.length + 1) << CHUNK_SHIFT;
+        }
+    }
+
+    private void allocateDirectories(int length) {
+        steps = new int[length][];
+        threadIndexes = new int[length][];
+        types = new byte[length][];
+        arguments = new int[length][];
+        extraArguments = new int[length][];
+    }
+
+    /**
+     * Gets the number of retained events; index 0 is the oldest.
+     */
+    @Override
+    public int size() {
+        return (int) (total - first);
+    }
+
+    /**
+     * Gets the number of events recorded since the last reset, including dropped ones.
+     */
+    public long getTotalCount() { return total; }
+
+    /**
+     * Gets the number of old events dropped to stay within the capacity.
+     */
+    public long getDroppedCount() { return first; }
+
+    /**
+     * Gets the step of a retained event.
+     */
+    public int getStep(int index) {
+        long n = position(index);
+        return steps[slot(n)][(int) (n & CHUNK_MASK)];
+    }
+
+    /**
+     * Gets the kind of a retained event.
+     */
+    public Type getType(int index) {
+        long n = position(index);
+        return TYPES[types[slot(n)][(int) (n & CHUNK_MASK)]];
+    }
+
+    /**
+     * Gets the thread of a retained event.
+     */
+    public ProcessThread getThread(int index) {
+        long n = position(index);
+        return threads.get(threadIndexes[slot(n)][(int) (n & CHUNK_MASK)]);
+    }
+
+    /**
+     * Gets the page or lock index of a retained event.
+     */
+    public int getArgument(int index) {
+        long n = position(index);
+        return arguments[slot(n)][(int) (n & CHUNK_MASK)];
+    }
+
+    /**
+     * Formats the description of a retained event.
+     */
+    public String formatDetails(int index) {
+        long n = position(index);
+        int slot = slot(n);
+        int offset = (int) (n & CHUNK_MASK);
+        int argument = arguments[slot][offset];
+        switch (TYPES[types[slot][offset]]) {
+            case PAGE_HIT:
+                return "Page " + argument + " found in memory";
+            case PAGE_FAULT:
+                return "Page " + argument + " not in memory";
+            case PAGE_EVICT:
+                return "Evicted page " + argument + " from "
+                        + threads.get(extraArguments[slot][offset]).getThreadName();
+            case WRITE_BACK:
+                return "Wrote dirty page " + argument + " back to disk";
+            case LOCK_ACQUIRE:
+                return "Acquired " + locks.get(argument).getLockName();
+            case LOCK_RELEASE:
+                return "Released " + locks.get(argument).getLockName();
+            case BLOCKED:
+                return "Waiting for " + locks.get(argument).getLockName();
+            default:
+                return "Page " + argument;
+        }
+    }
+
+    /**
+     * Materializes a retained event with its text.
+     */
+    @Override
+    public MultiThreadSimulator.TimelineEvent get(int index) {
+        return new MultiThreadSimulator.TimelineEvent(getStep(index), getThread(index),
+                getType(index).name(), formatDetails(index));
+    }
+
+    private long position(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + size());
+        }
+        return first + index;
+    }
+
+    private int slot(long n) {
+        return (int) ((n >>> CHUNK_SHIFT) % steps.length);
+    }
+}
@@ -0,0 +1,161 @@
+import java.util.Arrays;
+
+/**
+ * A set-associative translation lookaside buffer in front of the frame table.
+ * <p>
+ * The TLB caches translations for resident pages only. A page's set is chosen
+ * by the low bits of its page number, as in hardware. Entries are tagged with
+ * an address-space id (the thread id in the multithreaded simulator). A TLB
+ * that flushes on context switch models untagged hardware. Otherwise entries
+ * of different threads coexist and only their tags keep them apart.
+ */
+public class Tlb {
+
+    /**
+     * Victim selection within a set.
+     */
+    public enum Replacement {
+        LRU,    // Least recently used entry
+        FIFO,   // Oldest inserted entry
+        RANDOM  // Pseudo-random way (deterministic sequence)
+    }
+
+    private final int sets;
+    private final int ways;
+    private final Replacement replacement;
+    private final boolean flushOnContextSwitch;
+    private final long[] keys;   // (asid << 32) | page, per set * ways + way
+    private final long[] stamps; // LRU: last use, FIFO: insertion time, 0 = invalid
+    private long clock;
+    private long randomState;
+
+    // Statistics
+    private long hits;
+    private long misses;
+    private long flushes;
+
+    /**
+     * Creates a TLB.
+     * 
+     * @param sets Number of sets (a power of two)
+     * @param ways Entries per set
+     * @param replacement Victim selection within a set
+     * @param flushOnContextSwitch true to drop all entries on every context switch
+     */
+    public Tlb(int sets, int ways, Replacement replacement, boolean flushOnContextSwitch) {
+        if (sets <= 0 || Integer.bitCount(sets) != 1) {
+            throw new IllegalArgumentException("Set count must be a power of two");
+        }
+        if (ways <= 0) {
+            throw new IllegalArgumentException("Associativity must be positive");
+        }
+        this.sets = sets;
+        this.ways = ways;
+        this.replacement = replacement;
+        this.flushOnContextSwitch = flushOnContextSwitch;
+        this.keys = new long[sets * ways];
+        this.stamps = new long[sets * ways];
+        reset();
+    }
+
+    /**
+     * Translates a page of a resident address space, filling the TLB on a miss.
+     * 
+     * @param asid Address-space id
+     * @param page The referenced page (must be resident after this access)
+     * @return true on a TLB hit
+     */
+    public boolean access(int asid, int page) {
+        long key = key(asid, page);
+        int base = (page & (sets - 1)) * ways;
+        int victim = base;
+        for (int i = base; i < base + ways; i++) {
+            if (stamps[i] != 0 && keys[i] == key) {
+                if (replacement == Replacement.LRU) {
+                    stamps[i] = ++clock;
+                }
+                hits++;
+                return true;
+            }
+            if (stamps[i] < stamps[victim]) {
+                victim = i;
+            }
+        }
+
+        misses++;
+        if (stamps[victim] != 0 && replacement == Replacement.RANDOM) {
+            // Set is full: pick any way
+            randomState ^= randomState << 13;
+            randomState ^= randomState >>> 7;
+            randomState ^= randomState << 17;
+            victim = base + (int) Long.remainderUnsigned(randomState, ways);
+        }
+        keys[victim] = key;
+        stamps[victim] = ++clock;
+        return false;
+    }
+
+    /**
+     * Drops every cached translation of a page, in all address spaces.
+     * Called when the page is evicted from memory.
+     */
+    public void invalidate(int page) {
+        int base = (page & (sets - 1)) * ways;
+        for (int i = base; i < base + ways; i++) {
+            if (stamps[i] != 0 && (int) keys[i] == page) {
+                stamps[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Drops all translations.
+     */
+    public void flush() {
+        Arrays.fill(stamps, 0);
+        flushes++;
+    }
+
+    /**
+     * Applies the context-switch behaviour: a flush for untagged TLBs, nothing otherwise.
+     */
+    public void contextSwitch() {
+        if (flushOnContextSwitch) {
+            flush();
+        }
+    }
+
+    private static long key(int asid, int page) {
+        return ((long) asid << 32) | (page & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the fraction of translations served by the TLB.
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Clears all entries and statistics.
+     */
+    public void reset() {
+        Arrays.fill(stamps, 0);
+        clock = 0;
+        randomState = 0x9E3779B97F4A7C15L;
+        hits = 0;
+        misses = 0;
+        flushes = 0;
+    }
+
+    // Getters
+    public int getSets() { return sets; }
+    public int getWays() { return ways; }
+    public int getEntries() { return sets * ways; }
+    public Replacement getReplacement() { return replacement; }
+    public boolean isFlushOnContextSwitch() { return flushOnContextSwitch; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getFlushes() { return flushes; }
+}
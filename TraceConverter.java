@@ -0,0 +1,128 @@
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Converts text reference strings into the compact binary trace format.
+ * <p>
+ * Usage: {@code java TraceConverter input.txt output.vmt [--mapped]}
+ * <p>
+ * The input is a list of page numbers separated by whitespace or commas and is
+ * parsed as it is read, so traces larger than the heap can be converted.
+ * With {@code --mapped} the fixed-width {@link MappedTrace} format is written instead.
+ */
+public class TraceConverter {
+
+    /**
+     * Streams page numbers out of a text file.
+     */
+    static class TextReferences implements PrimitiveIterator.OfInt {
+        private final InputStream in;
+        private int next;
+        private boolean hasNext;
+
+        TextReferences(InputStream in) throws IOException {
+            this.in = in;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            int page = next;
+            try {
+                advance();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return page;
+        }
+
+        private void advance() throws IOException {
+            int c = in.read();
+            while (c == ' ' || c == ',' || c == '\t' || c == '\n' || c == '\r') {
+                c = in.read();
+            }
+            if (c < 0) {
+                hasNext = false;
+                return;
+            }
+            boolean negative = c == '-';
+            if (negative) {
+                c = in.read();
+            }
+            if (c < '0' || c > '9') {
+                throw new IOException("Unexpected character '" + (char) c + "' in reference string");
+            }
+            long value = 0;
+            while (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw new IOException("Page number out of range");
+                }
+                c = in.read();
+            }
+            next = (int) (negative ? -value : value);
+            hasNext = true;
+        }
+    }
+
+    /**
+     * Converts a text trace to the compact format.
+     * 
+     * @param input Text file of page numbers
+     * @param output Destination trace file
+     * @return The number of references converted
+     * @throws IOException if either file cannot be accessed or the text is malformed
+     */
+    public static long convert(Path input, Path output) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(input), 1 << 16)) {
+            return TraceWriter.write(output, new TextReferences(in));
+        }
+    }
+
+    /**
+     * Converts a text trace to the fixed-width mapped format.
+     * 
+     * @param input Text file of page numbers
+     * @param output Destination trace file
+     * @throws IOException if either file cannot be accessed or the text is malformed
+     */
+    public static void convertMapped(Path input, Path output) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(input), 1 << 16)) {
+            MappedTrace.write(output, new TextReferences(in));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || (args.length == 3 && !"--mapped".equals(args[2])) || args.length > 3) {
+            System.err.println("Usage: java TraceConverter <input.txt> <output> [--mapped]");
+            System.exit(2);
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        long start = System.nanoTime();
+        if (args.length == 3) {
+            convertMapped(input, output);
+        } else {
+            convert(input, output);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long inBytes = Files.size(input);
+        long outBytes = Files.size(output);
+        System.out.printf("%s -> %s: %,d bytes -> %,d bytes (%.1fx) in %.2f s%n",
+                input, output, inBytes, outBytes, (double) inBytes / Math.max(1, outBytes), seconds);
+    }
+}
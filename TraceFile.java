@@ -0,0 +1,59 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.PrimitiveIterator;
+
+/**
+ * A compact trace file used as a replayable reference source.
+ * Every pass streams the file through a new {@link TraceReader}.
+ */
+public class TraceFile implements ReferenceSource {
+    private final Path file;
+    private final long length;
+
+    /**
+     * Opens a trace file.
+     * 
+     * @param file Path of a trace written by {@link TraceWriter}
+     * @throws IOException if the file cannot be read or is not a trace
+     */
+    public TraceFile(Path file) throws IOException {
+        this.file = file;
+        this.length = TraceReader.readLength(file);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt open() {
+        try {
+            return new TraceReader(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long length() { return length; }
+
+    /**
+     * Reads the whole trace into memory.
+     * 
+     * @return The reference string
+     */
+    public int[] toArray() {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Trace too long for an array: " + length);
+        }
+        int[] pages = new int[(int) length];
+        PrimitiveIterator.OfInt references = open();
+        try {
+            for (int i = 0; i < pages.length; i++) {
+                pages[i] = references.nextInt();
+            }
+        } finally {
+            ReferenceSource.close(references);
+        }
+        return pages;
+    }
+
+    public Path getFile() { return file; }
+}
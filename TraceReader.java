@@ -0,0 +1,143 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Streams page references out of a compact trace file written by {@link TraceWriter}.
+ * Only one block is buffered at a time, so memory use does not depend on trace length.
+ * The file is closed automatically once the last reference has been read;
+ * a reader abandoned earlier must be closed by its owner.
+ */
+public class TraceReader implements PrimitiveIterator.OfInt, Closeable {
+    private final FileChannel channel;
+    private final long total;
+    private final ByteBuffer blockHeader;
+    private byte[] payload;
+    private int payloadPos;
+    private int blockRemaining;
+    private boolean blockStarted;
+    private int previous;
+    private long read;
+
+    /**
+     * Opens a trace file and reads its header.
+     * 
+     * @param file Path of the trace
+     * @throws IOException if the file cannot be read or is not a trace
+     */
+    public TraceReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.blockHeader = ByteBuffer.allocate(TraceWriter.BLOCK_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.payload = new byte[0];
+        ByteBuffer header = ByteBuffer.allocate(TraceWriter.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            readFully(header);
+            if (header.getInt() != TraceWriter.MAGIC) {
+                throw new IOException("Not a trace file: " + file);
+            }
+            int version = header.getInt();
+            if (version != TraceWriter.VERSION) {
+                throw new IOException("Unsupported trace version " + version + ": " + file);
+            }
+            this.total = header.getLong();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the reference count from a trace file header.
+     */
+    public static long readLength(Path file) throws IOException {
+        try (TraceReader reader = new TraceReader(file)) {
+            return reader.total;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return read < total;
+    }
+
+    @Override
+    public int nextInt() {
+        if (read >= total) {
+            throw new NoSuchElementException();
+        }
+        if (blockRemaining == 0) {
+            loadBlock();
+        }
+        if (!blockStarted) {
+            blockStarted = true;
+        } else {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = payload[payloadPos++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += (value >>> 1) ^ -(value & 1);
+        }
+        blockRemaining--;
+        if (++read == total) {
+            closeQuietly();
+        }
+        return previous;
+    }
+
+    private void loadBlock() {
+        try {
+            blockHeader.clear();
+            readFully(blockHeader);
+            blockRemaining = blockHeader.getInt();
+            int bytes = blockHeader.getInt();
+            previous = blockHeader.getInt();
+            if (payload.length < bytes) {
+                payload = new byte[bytes];
+            }
+            readFully(ByteBuffer.wrap(payload, 0, bytes));
+            payloadPos = 0;
+            blockStarted = false;
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of trace file");
+            }
+        }
+        buffer.flip();
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing left to read
+        }
+    }
+
+    /**
+     * Gets the total number of references in the trace.
+     */
+    public long getTotal() { return total; }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,147 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.PrimitiveIterator;
+
+/**
+ * Writes reference strings in the compact trace format.
+ * <p>
+ * Layout (all fixed-width fields little-endian):
+ * <pre>
+ *   file header : int magic "VMTR", int version, long total references
+ *   block       : int count, int payload bytes, int first page, payload
+ *   payload     : count - 1 zig-zag encoded deltas between consecutive pages, as varints
+ * </pre>
+ * Each block header says how many references and bytes follow, so readers
+ * can skip or split blocks without decoding them. Nearby pages produce small
+ * deltas that encode in one or two bytes.
+ */
+public class TraceWriter implements Closeable {
+
+    public static final int MAGIC = 0x52544D56; // "VMTR" in file byte order
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int BLOCK_HEADER_BYTES = 12;
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final int blockSize;
+    private final ByteBuffer header;
+    private final byte[] payload;
+    private int payloadBytes;
+    private int count;
+    private int firstPage;
+    private int previous;
+    private long total;
+
+    /**
+     * Creates a trace file with the default block size.
+     * 
+     * @param file Destination path (replaced if it exists)
+     * @throws IOException if the file cannot be created
+     */
+    public TraceWriter(Path file) throws IOException {
+        this(file, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a trace file.
+     * 
+     * @param file Destination path (replaced if it exists)
+     * @param blockSize References per block
+     * @throws IOException if the file cannot be created
+     */
+    public TraceWriter(Path file, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.blockSize = blockSize;
+        this.header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.payload = new byte[5 * blockSize];
+        channel.position(HEADER_BYTES); // the file header is written on close
+    }
+
+    /**
+     * Writes a whole reference stream to a trace file.
+     * 
+     * @param file Destination path (replaced if it exists)
+     * @param references The page references, consumed until exhausted
+     * @return The number of references written
+     * @throws IOException if the file cannot be written
+     */
+    public static long write(Path file, PrimitiveIterator.OfInt references) throws IOException {
+        try (TraceWriter writer = new TraceWriter(file)) {
+            while (references.hasNext()) {
+                writer.write(references.nextInt());
+            }
+            return writer.getTotal();
+        }
+    }
+
+    /**
+     * Appends one page reference.
+     */
+    public void write(int page) throws IOException {
+        if (count == 0) {
+            firstPage = page;
+        } else {
+            int delta = page - previous;
+            int zigzag = (delta << 1) ^ (delta >> 31);
+            while ((zigzag & ~0x7F) != 0) {
+                payload[payloadBytes++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            payload[payloadBytes++] = (byte) zigzag;
+        }
+        previous = page;
+        total++;
+        if (++count == blockSize) {
+            flushBlock();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        header.clear();
+        header.putInt(count).putInt(payloadBytes).putInt(firstPage).flip();
+        writeFully(header, -1);
+        writeFully(ByteBuffer.wrap(payload, 0, payloadBytes), -1);
+        count = 0;
+        payloadBytes = 0;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (position < 0) {
+                channel.write(buffer);
+            } else {
+                position += channel.write(buffer, position);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of references written so far.
+     */
+    public long getTotal() { return total; }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            header.clear();
+            header.putInt(MAGIC).putInt(VERSION).putLong(total).flip();
+            writeFully(header, 0);
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * 2Q page replacement (full version), after Johnson and Shasha.
+ * <p>
+ * New pages enter A1in, a FIFO of up to a quarter of the frames. Pages pushed
+ * out of A1in are remembered in the ghost FIFO A1out (half the frame count).
+ * Only a page referenced again while in A1out is admitted to Am, the LRU list
+ * holding the hot set. A sequential scan therefore passes through A1in
+ * without disturbing Am.
+ */
+public class TwoQueuePolicy implements ReplacementPolicy {
+    private static final int A1IN = 0, A1OUT = 1, AM = 2; // list heads hold the oldest entry
+
+    private final int frameCount;
+    private final int inCapacity;
+    private final int outCapacity;
+    private final int[] slotPage;
+    private final byte[] slotList;
+    private final int[] freeSlots;
+    private final PageIndex index;
+    private final SlotLists lists;
+    private int freeCount;
+    private int lastEvicted;
+    private boolean hasEvicted; // whether lastEvicted holds a page
+
+    /**
+     * Creates a 2Q policy with the recommended queue sizes
+     * (A1in = 25% and A1out = 50% of the frame count).
+     * 
+     * @param frameCount The number of frames available in memory
+     */
+    public TwoQueuePolicy(int frameCount) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        this.frameCount = frameCount;
+        this.inCapacity = Math.max(1, frameCount / 4);
+        this.outCapacity = Math.max(1, frameCount / 2);
+        int slots = frameCount + outCapacity + 1;
+        this.slotPage = new int[slots];
+        this.slotList = new byte[slots];
+        this.freeSlots = new int[slots];
+        this.index = new PageIndex(slots);
+        this.lists = new SlotLists(slots, 3);
+        reset();
+    }
+
+    @Override
+    public boolean access(int page) {
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        int slot = index.get(page);
+        if (slot != PageIndex.ABSENT) {
+            switch (slotList[slot]) {
+                case AM:
+                    lists.moveToLast(AM, slot);
+                    return true;
+                case A1IN:
+                    // Correlated re-reference: leave it where it is
+                    return true;
+                default:
+                    // Remembered in A1out: the page is hot, admit it to Am
+                    lists.remove(A1OUT, slot);
+                    reclaimFrame();
+                    slotList[slot] = AM;
+                    lists.addLast(AM, slot);
+                    return false;
+            }
+        }
+
+        reclaimFrame();
+        slot = freeSlots[--freeCount];
+        slotPage[slot] = page;
+        slotList[slot] = A1IN;
+        lists.addLast(A1IN, slot);
+        index.put(page, slot);
+        return false;
+    }
+
+    /**
+     * Frees a frame when memory is full: the oldest A1in page moves to the
+     * A1out ghost queue if A1in is over its share, otherwise the LRU page of Am goes.
+     */
+    private void reclaimFrame() {
+        if (lists.size(A1IN) + lists.size(AM) < frameCount) {
+            return;
+        }
+        if (lists.size(A1IN) > inCapacity || lists.size(AM) == 0) {
+            int victim = lists.head(A1IN);
+            lists.remove(A1IN, victim);
+            lastEvicted = slotPage[victim];
+            hasEvicted = true;
+            slotList[victim] = A1OUT;
+            lists.addLast(A1OUT, victim);
+            if (lists.size(A1OUT) > outCapacity) {
+                forget(lists.head(A1OUT), A1OUT);
+            }
+        } else {
+            int victim = lists.head(AM);
+            lastEvicted = slotPage[victim];
+            hasEvicted = true;
+            forget(victim, AM);
+        }
+    }
+
+    private void forget(int slot, int list) {
+        lists.remove(list, slot);
+        index.remove(slotPage[slot]);
+        freeSlots[freeCount++] = slot;
+    }
+
+    @Override
+    public int getLastEvicted() { return lastEvicted; }
+
+    @Override
+    public boolean hasEvicted() { return hasEvicted; }
+
+    @Override
+    public int getResidentCount() { return lists.size(A1IN) + lists.size(AM); }
+
+    @Override
+    public void reset() {
+        index.clear();
+        lists.clear();
+        freeCount = freeSlots.length;
+        for (int i = 0; i < freeCount; i++) {
+            freeSlots[i] = freeCount - 1 - i;
+        }
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+    }
+}
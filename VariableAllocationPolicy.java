@@ -0,0 +1,27 @@
+/**
+ * A replacement policy whose resident set grows and shrinks with the program's
+ * behaviour instead of filling a fixed number of frames. The frame count the
+ * policy is created with is only an upper bound.
+ * <p>
+ * One access may release several pages at once, and pages can also be
+ * released on a hit, so evictions are reported as a list.
+ */
+public interface VariableAllocationPolicy extends ReplacementPolicy {
+
+    /**
+     * Gets the number of pages released by the most recent access.
+     */
+    int getEvictionCount();
+
+    /**
+     * Gets one of the pages released by the most recent access.
+     * 
+     * @param index 0 to getEvictionCount() - 1, in release order
+     */
+    int getEvicted(int index);
+
+    /**
+     * Gets the mean number of resident pages, sampled after every access since the last reset.
+     */
+    double getAverageResidentSize();
+}
@@ -0,0 +1,136 @@
+/**
+ * Working-set replacement (Denning).
+ * <p>
+ * The resident set is the set of distinct pages referenced in the last Δ
+ * references. Pages are kept in recency order with a last-use time each, so the
+ * only page that can slide out of the window on an access is the least recently
+ * used one, and it is released as soon as its last use is Δ references old. Each
+ * access is O(1) and releases at most one page, possibly on a hit.
+ * <p>
+ * The window and the frame limit are independent. While the working set fits,
+ * the frame limit has no effect; when it does not, the least recently used page
+ * makes room, as in LRU.
+ */
+public class WorkingSetPolicy implements VariableAllocationPolicy {
+    /** Window used when none is given, in references. */
+    public static final long DEFAULT_WINDOW = 1000;
+
+    private static final int RECENCY = 0;
+
+    private final int maxFrames;
+    private final long window;
+    private final int[] slotPage;
+    private final long[] lastUse;
+    private final int[] freeSlots;
+    private final SlotLists lists;
+    private final PageIndex index;
+    private int freeCount;
+    private int lastEvicted;
+    private boolean hasEvicted; // whether lastEvicted holds a page
+    private long time;
+    private long residentSum;
+
+    /**
+     * Creates a working-set policy.
+     *
+     * @param maxFrames Upper bound on the resident set
+     * @param window The window Δ, in references
+     */
+    public WorkingSetPolicy(int maxFrames, long window) {
+        if (maxFrames <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.maxFrames = maxFrames;
+        this.window = window;
+        this.slotPage = new int[maxFrames];
+        this.lastUse = new long[maxFrames];
+        this.freeSlots = new int[maxFrames];
+        this.lists = new SlotLists(maxFrames, 1);
+        this.index = new PageIndex(maxFrames);
+        reset();
+    }
+
+    @Override
+    public boolean access(int page) {
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        time++;
+        int slot = index.get(page);
+        boolean hit = slot != PageIndex.ABSENT;
+        if (hit) {
+            lastUse[slot] = time;
+            lists.moveToLast(RECENCY, slot);
+        }
+
+        // The reference Δ back slides out of the window
+        int lru = lists.head(RECENCY);
+        if (lru != SlotLists.NIL && lastUse[lru] <= time - window) {
+            release(lru);
+        }
+
+        if (!hit) {
+            if (freeCount == 0) {
+                release(lists.head(RECENCY));
+            }
+            slot = freeSlots[--freeCount];
+            slotPage[slot] = page;
+            lastUse[slot] = time;
+            index.put(page, slot);
+            lists.addLast(RECENCY, slot);
+        }
+        residentSum += index.size();
+        return hit;
+    }
+
+    private void release(int slot) {
+        lists.remove(RECENCY, slot);
+        index.remove(slotPage[slot]);
+        lastEvicted = slotPage[slot];
+        hasEvicted = true;
+        freeSlots[freeCount++] = slot;
+    }
+
+    @Override
+    public int getLastEvicted() { return lastEvicted; }
+
+    @Override
+    public boolean hasEvicted() { return hasEvicted; }
+
+    @Override
+    public int getResidentCount() { return index.size(); }
+
+    @Override
+    public int getEvictionCount() { return hasEvicted ? 1 : 0; }
+
+    @Override
+    public int getEvicted(int index) {
+        if (index != 0 || !hasEvicted) {
+            throw new IndexOutOfBoundsException("Eviction " + index + " out of " + getEvictionCount());
+        }
+        return lastEvicted;
+    }
+
+    @Override
+    public double getAverageResidentSize() {
+        return time == 0 ? 0 : (double) residentSum / time;
+    }
+
+    public long getWindow() { return window; }
+
+    @Override
+    public void reset() {
+        lists.clear();
+        index.clear();
+        for (int i = 0; i < maxFrames; i++) {
+            freeSlots[i] = maxFrames - 1 - i;
+        }
+        freeCount = maxFrames;
+        lastEvicted = NO_PAGE;
+        hasEvicted = false;
+        time = 0;
+        residentSum = 0;
+    }
+}
@@ -0,0 +1,401 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A synthetic reference string generated on demand.
+ * <p>
+ * References are computed as they are consumed, so a workload of any length
+ * costs a few fields of state and never materializes an array. Every pass
+ * restarts from the same seed, so a workload replays identically; this is what
+ * lets OPT and {@link ProcessThread#reset()} use it like a stored trace.
+ * Workloads plug into {@link DemandPaging#simulate(String, ReferenceSource, int)}
+ * and {@link ProcessThread#ProcessThread(ReferenceSource, int)}.
+ */
+public abstract class Workload implements ReferenceSource {
+
+    /**
+     * Produces references without bound; {@link #open()} applies the length.
+     */
+    protected interface Generator {
+        int next();
+    }
+
+    private final long length;
+
+    protected Workload(long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length must not be negative");
+        }
+        this.length = length;
+    }
+
+    /**
+     * Starts a new unbounded generator from the initial state.
+     */
+    protected abstract Generator generator();
+
+    @Override
+    public PrimitiveIterator.OfInt open() {
+        Generator generator = generator();
+        return new PrimitiveIterator.OfInt() {
+            private long remaining = length;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                return generator.next();
+            }
+        };
+    }
+
+    @Override
+    public long length() { return length; }
+
+    /**
+     * Returns one pass over the workload as a sequential stream.
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(open(), length,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * Returns the same reference pattern with a different length.
+     *
+     * @param newLength Number of references per pass
+     */
+    public Workload withLength(long newLength) {
+        Workload source = this;
+        return new Workload(newLength) {
+            @Override
+            protected Generator generator() {
+                return source.generator();
+            }
+        };
+    }
+
+    /**
+     * Returns the same reference pattern with every page number offset,
+     * e.g. to keep the components of a mixture in disjoint page ranges.
+     *
+     * @param offset Amount added to every page
+     */
+    public Workload shift(int offset) {
+        Workload source = this;
+        return new Workload(length) {
+            @Override
+            protected Generator generator() {
+                Generator inner = source.generator();
+                return () -> inner.next() + offset;
+            }
+        };
+    }
+
+    /**
+     * Pages drawn uniformly at random.
+     *
+     * @param length Number of references
+     * @param pages Size of the page universe (pages 0 to pages - 1)
+     * @param seed Random seed
+     */
+    public static Workload uniform(long length, int pages, long seed) {
+        requirePositive(pages, "Page count");
+        return new Workload(length) {
+            @Override
+            protected Generator generator() {
+                SplittableRandom random = new SplittableRandom(seed);
+                return () -> random.nextInt(pages);
+            }
+        };
+    }
+
+    /**
+     * Zipf-distributed pages: page k (0-based) is referenced with probability
+     * proportional to 1 / (k + 1)^skew. Skew 0 is uniform; around 1 is typical
+     * of file and web caches; larger values concentrate on fewer pages.
+     *
+     * @param length Number of references
+     * @param pages Size of the page universe
+     * @param skew Zipf exponent, at least 0
+     * @param seed Random seed
+     */
+    public static Workload zipf(long length, int pages, double skew, long seed) {
+        requirePositive(pages, "Page count");
+        if (!(skew >= 0) || Double.isInfinite(skew)) {
+            throw new IllegalArgumentException("Skew must be a finite non-negative number");
+        }
+        return new Workload(length) {
+            @Override
+            protected Generator generator() {
+                return new ZipfGenerator(pages, skew, new SplittableRandom(seed));
+            }
+        };
+    }
+
+    /**
+     * A loop over the same pages, 0 to loopPages - 1, repeated. A loop one page
+     * larger than memory makes LRU and FIFO fault on every reference.
+     *
+     * @param length Number of references
+     * @param loopPages Pages in the loop
+     */
+    public static Workload loop(long length, int loopPages) {
+        requirePositive(loopPages, "Loop size");
+        return new Workload(length) {
+            @Override
+            protected Generator generator() {
+                return new Generator() {
+                    private int page;
+
+                    @Override
+                    public int next() {
+                        int current = page;
+                        page = current + 1 == loopPages ? 0 : current + 1;
+                        return current;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * A sequential scan that never revisits a page: firstPage, firstPage + 1, ...
+     *
+     * @param length Number of references
+     * @param firstPage Page referenced first
+     */
+    public static Workload scan(long length, int firstPage) {
+        return new Workload(length) {
+            @Override
+            protected Generator generator() {
+                return new Generator() {
+                    private int page = firstPage;
+
+                    @Override
+                    public int next() {
+                        return page++;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Working-set phases: for phaseLength references the pages come uniformly
+     * from one working set, then the working set moves to a new random place.
+     *
+     * @param length Number of references
+     * @param phaseLength References per phase
+     * @param workingSetSize Pages in each working set
+     * @param pages Size of the page universe the working sets are placed in
+     * @param seed Random seed
+     */
+    public static Workload phases(long length, long phaseLength, int workingSetSize, int pages, long seed) {
+        if (phaseLength <= 0) {
+            throw new IllegalArgumentException("Phase length must be positive");
+        }
+        requirePositive(workingSetSize, "Working set size");
+        if (pages < workingSetSize) {
+            throw new IllegalArgumentException("Page universe smaller than the working set");
+        }
+        return new Workload(length) {
+            @Override
+            protected Generator generator() {
+                SplittableRandom random = new SplittableRandom(seed);
+                return new Generator() {
+                    private long left;
+                    private int base;
+
+                    @Override
+                    public int next() {
+                        if (left-- == 0) {
+                            left = phaseLength - 1;
+                            base = random.nextInt(pages - workingSetSize + 1);
+                        }
+                        return base + random.nextInt(workingSetSize);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Plays workloads back to back, each for its own length.
+     *
+     * @param parts Workloads in playing order
+     */
+    public static Workload concat(Workload... parts) {
+        if (parts.length == 0) {
+            throw new IllegalArgumentException("At least one workload is required");
+        }
+        long total = 0;
+        for (Workload part : parts) {
+            total += part.length();
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one workload must be non-empty");
+        }
+        Workload[] copy = parts.clone();
+        return new Workload(total) {
+            @Override
+            protected Generator generator() {
+                Generator[] generators = new Generator[copy.length];
+                for (int i = 0; i < copy.length; i++) {
+                    generators[i] = copy[i].generator();
+                }
+                return new Generator() {
+                    private int current;
+                    private long left = copy[0].length();
+
+                    @Override
+                    public int next() {
+                        // Skip finished (or empty) parts; wrap around after the last one
+                        while (left == 0) {
+                            current = (current + 1) % copy.length;
+                            left = copy[current].length();
+                        }
+                        left--;
+                        return generators[current].next();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * A random mixture: each reference comes from one component, chosen with
+     * probability proportional to its weight. Components keep their own state,
+     * so a loop or scan component continues where it left off.
+     *
+     * @param length Number of references
+     * @param seed Random seed for choosing components
+     * @param weights Relative weight of each component
+     * @param parts Component workloads (their lengths are ignored)
+     */
+    public static Workload mix(long length, long seed, double[] weights, Workload... parts) {
+        if (weights.length != parts.length || parts.length == 0) {
+            throw new IllegalArgumentException("Need one weight per workload");
+        }
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (!(weights[i] >= 0) || Double.isInfinite(weights[i])) {
+                throw new IllegalArgumentException("Weights must be finite and non-negative");
+            }
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        double total = sum;
+        Workload[] copy = parts.clone();
+        return new Workload(length) {
+            @Override
+            protected Generator generator() {
+                SplittableRandom random = new SplittableRandom(seed);
+                Generator[] generators = new Generator[copy.length];
+                for (int i = 0; i < copy.length; i++) {
+                    generators[i] = copy[i].generator();
+                }
+                return () -> {
+                    double pick = random.nextDouble() * total;
+                    int i = 0;
+                    while (i < cumulative.length - 1 && pick >= cumulative[i]) {
+                        i++;
+                    }
+                    return generators[i].next();
+                };
+            }
+        };
+    }
+
+    private static void requirePositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+
+    /**
+     * Zipf sampling by rejection-inversion (Hörmann and Derflinger), which needs
+     * O(1) time and memory per sample instead of a table over all pages.
+     */
+    private static final class ZipfGenerator implements Generator {
+        private final int pages;
+        private final double skew;
+        private final SplittableRandom random;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double s;
+
+        ZipfGenerator(int pages, double skew, SplittableRandom random) {
+            this.pages = pages;
+            this.skew = skew;
+            this.random = random;
+            this.hIntegralX1 = hIntegral(1.5) - 1.0;
+            this.hIntegralN = hIntegral(pages + 0.5);
+            this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2.0));
+        }
+
+        @Override
+        public int next() {
+            while (true) {
+                double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                int k = (int) (x + 0.5);
+                if (k < 1) {
+                    k = 1;
+                } else if (k > pages) {
+                    k = pages;
+                }
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                    return k - 1;
+                }
+            }
+        }
+
+        private double h(double x) {
+            return Math.exp(-skew * Math.log(x));
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return expm1OverX((1.0 - skew) * logX) * logX;
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = x * (1.0 - skew);
+            if (t < -1.0) {
+                t = -1.0; // guard against rounding below the domain of log1p
+            }
+            return Math.exp(log1pOverX(t) * x);
+        }
+
+        private static double expm1OverX(double x) {
+            if (Math.abs(x) > 1e-8) {
+                return Math.expm1(x) / x;
+            }
+            return 1.0 + x * 0.5 * (1.0 + x / 3.0 * (1.0 + 0.25 * x));
+        }
+
+        private static double log1pOverX(double x) {
+            if (Math.abs(x) > 1e-8) {
+                return Math.log1p(x) / x;
+            }
+            return 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+        }
+    }
+}
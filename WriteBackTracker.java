@@ -0,0 +1,82 @@
+/**
+ * Tracks dirty pages next to any replacement policy and counts the disk
+ * writes needed when dirty pages are evicted. Pages still dirty at the end of
+ * a run are not counted; they are written back only when evicted.
+ */
+public class WriteBackTracker {
+    private final PageIndex dirty;
+    private long writes;
+    private long writeBacks;
+
+    /**
+     * Creates a tracker with no dirty pages.
+     */
+    public WriteBackTracker() {
+        this.dirty = new PageIndex(64);
+    }
+
+    /**
+     * Accounts for one reference after the policy has processed it: writes back
+     * whatever dirty pages the policy evicted, then marks the page dirty on a write.
+     * 
+     * @param policy The policy that just processed the reference
+     * @param page The referenced page
+     * @param write true for a write reference
+     */
+    public void record(ReplacementPolicy policy, int page, boolean write) {
+        if (policy instanceof VariableAllocationPolicy) {
+            VariableAllocationPolicy variable = (VariableAllocationPolicy) policy;
+            for (int i = 0; i < variable.getEvictionCount(); i++) {
+                evict(variable.getEvicted(i));
+            }
+        } else if (policy.hasEvicted()) {
+            evict(policy.getLastEvicted());
+        }
+        if (write) {
+            write(page);
+        }
+    }
+
+    /**
+     * Marks a resident page as modified.
+     */
+    public void write(int page) {
+        writes++;
+        dirty.put(page, 0);
+    }
+
+    /**
+     * Records the eviction of a page.
+     * 
+     * @param page The evicted page
+     * @return true if the page was dirty and had to be written back
+     */
+    public boolean evict(int page) {
+        if (dirty.remove(page) == PageIndex.ABSENT) {
+            return false;
+        }
+        writeBacks++;
+        return true;
+    }
+
+    /**
+     * Checks whether a page is dirty.
+     */
+    public boolean isDirty(int page) {
+        return dirty.contains(page);
+    }
+
+    /**
+     * Forgets all dirty pages and counts.
+     */
+    public void reset() {
+        dirty.clear();
+        writes = 0;
+        writeBacks = 0;
+    }
+
+    // Getters
+    public long getWrites() { return writes; }
+    public long getWriteBacks() { return writeBacks; }
+    public int getDirtyCount() { return dirty.size(); }
+}
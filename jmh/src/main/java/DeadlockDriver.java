@@ -0,0 +1,33 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Benchmark driver for {@link DeadlockDetector#detectDeadlock(List, List)}.
+ * Thread i holds lock i and waits for lock i + 1. With a cycle the last thread
+ * waits for lock 0, closing the circular wait; otherwise the chain ends at a free lock.
+ */
+public class DeadlockDriver implements LongSupplier {
+    private final List<ProcessThread> threads = new ArrayList<>();
+    private final List<LockResource> locks = new ArrayList<>();
+
+    public DeadlockDriver(int threadCount, boolean cycle) {
+        for (int i = 0; i <= threadCount; i++) {
+            locks.add(new LockResource("L" + i, 1));
+        }
+        for (int i = 0; i < threadCount; i++) {
+            ProcessThread thread = new ProcessThread(new int[]{1}, 5);
+            locks.get(i).tryAcquire(thread);
+            threads.add(thread);
+        }
+        for (int i = 0; i < threadCount; i++) {
+            int wanted = i + 1 == threadCount && cycle ? 0 : i + 1;
+            locks.get(wanted).tryAcquire(threads.get(i));
+        }
+    }
+
+    @Override
+    public long getAsLong() {
+        return DeadlockDetector.detectDeadlock(threads, locks).size();
+    }
+}
@@ -0,0 +1,40 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Benchmark driver for {@link MultiThreadSimulator#executeStep()}.
+ * Each call initializes a fresh simulation and steps it to completion,
+ * returning the number of steps executed.
+ */
+public class MultiThreadDriver implements LongSupplier {
+    private final int[][] referenceStrings;
+    private final int frameCount;
+    private final String algorithm;
+    private final String scheduling;
+
+    public MultiThreadDriver(int[][] referenceStrings, int frameCount, String algorithm, String scheduling) {
+        this.referenceStrings = referenceStrings;
+        this.frameCount = frameCount;
+        this.algorithm = algorithm;
+        this.scheduling = scheduling;
+    }
+
+    @Override
+    public long getAsLong() {
+        List<ProcessThread> threads = new ArrayList<>();
+        for (int i = 0; i < referenceStrings.length; i++) {
+            threads.add(new ProcessThread(referenceStrings[i], 1 + i % 10));
+        }
+        ThreadScheduler scheduler = new ThreadScheduler(
+            ThreadScheduler.SchedulingAlgorithm.valueOf(scheduling), 4);
+        MultiThreadSimulator simulator = new MultiThreadSimulator(frameCount, algorithm);
+        simulator.initialize(threads, scheduler, false, "NONE", 1);
+
+        long steps = 0;
+        while (simulator.executeStep()) {
+            steps++;
+        }
+        return steps;
+    }
+}
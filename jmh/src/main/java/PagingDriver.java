@@ -0,0 +1,22 @@
+import java.util.function.LongSupplier;
+
+/**
+ * Benchmark driver for {@link DemandPaging#simulate(String, int[], int)}.
+ * Each call replays the whole trace and returns the fault count.
+ */
+public class PagingDriver implements LongSupplier {
+    private final String algorithm;
+    private final int[] pages;
+    private final int frameCount;
+
+    public PagingDriver(String algorithm, int[] pages, int frameCount) {
+        this.algorithm = algorithm;
+        this.pages = pages;
+        this.frameCount = frameCount;
+    }
+
+    @Override
+    public long getAsLong() {
+        return DemandPaging.simulate(algorithm, pages, frameCount);
+    }
+}
@@ -0,0 +1,27 @@
+import java.util.function.LongSupplier;
+
+/**
+ * Benchmark driver for {@link ThreadScheduler#scheduleNext()}.
+ * Each call schedules one thread, charges it a quantum unit and puts it back
+ * in the ready queue, so the ready queue size stays constant.
+ */
+public class SchedulerDriver implements LongSupplier {
+    private final ThreadScheduler scheduler;
+
+    public SchedulerDriver(String algorithm, int threadCount) {
+        this.scheduler = new ThreadScheduler(ThreadScheduler.SchedulingAlgorithm.valueOf(algorithm), 1);
+        for (int i = 0; i < threadCount; i++) {
+            scheduler.addThread(new ProcessThread(new int[]{1}, 1 + i % 10));
+        }
+    }
+
+    @Override
+    public long getAsLong() {
+        ProcessThread thread = scheduler.scheduleNext();
+        scheduler.incrementQuantum();
+        // Preempt so the next call has to pick again
+        thread.setState(ProcessThread.State.READY);
+        scheduler.addThread(thread);
+        return thread.getThreadId();
+    }
+}
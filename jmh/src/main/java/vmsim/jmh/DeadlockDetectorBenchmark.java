@@ -0,0 +1,45 @@
+package vmsim.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one full deadlock check over a wait chain, with or without a closing cycle.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeadlockDetectorBenchmark {
+
+    @Param({"8", "128", "1024"})
+    public int threadCount;
+
+    @Param({"true", "false"})
+    public boolean cycle;
+
+    private LongSupplier driver;
+
+    @Setup
+    public void setUp() {
+        driver = Drivers.create("DeadlockDriver", threadCount, cycle);
+    }
+
+    @Benchmark
+    public long detectDeadlock() {
+        return driver.getAsLong();
+    }
+}
@@ -0,0 +1,55 @@
+package vmsim.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replays a whole trace through DemandPaging.simulate per invocation.
+ * The "references" counter reports references/sec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DemandPagingBenchmark {
+
+    @Param({"FIFO", "LRU", "MRU", "OPT"})
+    public String algorithm;
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int traceSize;
+
+    @Param({"16", "1024", "65536"})
+    public int frameCount;
+
+    @Param({"UNIFORM", "HOTSET", "LOOP", "SCAN"})
+    public Locality locality;
+
+    private LongSupplier driver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] pages = locality.generate(traceSize, frameCount, 42);
+        driver = Drivers.create("PagingDriver", algorithm, pages, frameCount);
+    }
+
+    @Benchmark
+    public long simulate(ReferenceCounter counter) {
+        counter.references += traceSize;
+        return driver.getAsLong();
+    }
+}
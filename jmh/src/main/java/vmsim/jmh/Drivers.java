@@ -0,0 +1,28 @@
+package vmsim.jmh;
+
+import java.lang.reflect.Constructor;
+import java.util.function.LongSupplier;
+
+/**
+ * Loads the default-package benchmark drivers.
+ * <p>
+ * JMH rejects benchmark classes in the default package, and a named package
+ * cannot refer to default-package types at compile time. Each benchmark
+ * therefore instantiates a small driver next to the simulator classes by name
+ * and calls it through {@link LongSupplier}; the call site stays monomorphic,
+ * so the JIT inlines it.
+ */
+final class Drivers {
+
+    private Drivers() {
+    }
+
+    static LongSupplier create(String className, Object... args) {
+        try {
+            Constructor<?> constructor = Class.forName(className).getConstructors()[0];
+            return (LongSupplier) constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create benchmark driver " + className, e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package vmsim.jmh;
+
+import java.util.SplittableRandom;
+
+/**
+ * Reference patterns used to build benchmark traces. Page universes are
+ * sized relative to the frame count so hit ratios stay comparable as the
+ * frame count grows.
+ */
+public enum Locality {
+    /** Pages drawn uniformly from twice as many pages as frames. */
+    UNIFORM {
+        @Override
+        int[] generate(int length, int frameCount, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] pages = new int[length];
+            for (int i = 0; i < length; i++) {
+                pages[i] = random.nextInt(frameCount * 2);
+            }
+            return pages;
+        }
+    },
+    /** 80% of references go to a hot set half the size of memory. */
+    HOTSET {
+        @Override
+        int[] generate(int length, int frameCount, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int hot = Math.max(1, frameCount / 2);
+            int[] pages = new int[length];
+            for (int i = 0; i < length; i++) {
+                pages[i] = random.nextInt(10) < 8 ? random.nextInt(hot) : hot + random.nextInt(frameCount * 8);
+            }
+            return pages;
+        }
+    },
+    /** A cyclic loop 25% larger than memory, the LRU worst case. */
+    LOOP {
+        @Override
+        int[] generate(int length, int frameCount, long seed) {
+            int loop = frameCount + Math.max(1, frameCount / 4);
+            int[] pages = new int[length];
+            for (int i = 0; i < length; i++) {
+                pages[i] = i % loop;
+            }
+            return pages;
+        }
+    },
+    /** Sequential scans over a region 64 times larger than memory. */
+    SCAN {
+        @Override
+        int[] generate(int length, int frameCount, long seed) {
+            int region = frameCount * 64;
+            int[] pages = new int[length];
+            for (int i = 0; i < length; i++) {
+                pages[i] = i % region;
+            }
+            return pages;
+        }
+    };
+
+    abstract int[] generate(int length, int frameCount, long seed);
+}
@@ -0,0 +1,64 @@
+package vmsim.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs a complete multithreaded simulation per invocation, stepping
+ * MultiThreadSimulator.executeStep until it reports completion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiThreadSimulatorBenchmark {
+
+    @Param({"FIFO", "LRU", "OPT"})
+    public String algorithm;
+
+    @Param({"4", "64", "512"})
+    public int threadCount;
+
+    @Param({"1000"})
+    public int referencesPerThread;
+
+    @Param({"16", "256"})
+    public int frameCount;
+
+    @Param({"HOTSET", "LOOP"})
+    public Locality locality;
+
+    @Param({"ROUND_ROBIN", "PRIORITY"})
+    public String scheduling;
+
+    private LongSupplier driver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[][] referenceStrings = new int[threadCount][];
+        for (int i = 0; i < threadCount; i++) {
+            referenceStrings[i] = locality.generate(referencesPerThread, frameCount, 42 + i);
+        }
+        driver = Drivers.create("MultiThreadDriver", referenceStrings, frameCount, algorithm, scheduling);
+    }
+
+    @Benchmark
+    public long run(ReferenceCounter counter) {
+        counter.references += (long) threadCount * referencesPerThread;
+        return driver.getAsLong();
+    }
+}
@@ -0,0 +1,22 @@
+package vmsim.jmh;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Secondary JMH counter that reports processed references per second
+ * next to the per-invocation throughput.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ReferenceCounter {
+    public long references;
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        references = 0;
+    }
+}
@@ -0,0 +1,45 @@
+package vmsim.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one scheduling decision with a ready queue of the given size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThreadSchedulerBenchmark {
+
+    @Param({"FCFS", "ROUND_ROBIN", "PRIORITY"})
+    public String algorithm;
+
+    @Param({"8", "128", "2048"})
+    public int threadCount;
+
+    private LongSupplier driver;
+
+    @Setup
+    public void setUp() {
+        driver = Drivers.create("SchedulerDriver", algorithm, threadCount);
+    }
+
+    @Benchmark
+    public long scheduleNext() {
+        return driver.getAsLong();
+    }
+}